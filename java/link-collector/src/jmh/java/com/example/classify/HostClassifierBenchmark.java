@@ -0,0 +1,34 @@
+package com.example.classify;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Host classification, from the first rule (Ashby) down to the fall-through (OTHER).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HostClassifierBenchmark {
+    private final String[] hosts = {
+        "jobs.ashbyhq.com",
+        "boards.greenhouse.io",
+        "acme.wd1.myworkdayjobs.com",
+        "apply.workable.com",
+        "wellfound.com",
+        "careers.acme.com"
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public void classify(Blackhole bh) {
+        for (String host : hosts) {
+            bh.consume(HostClassifier.classify(host));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.classify;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Canonical form and posting key of apply URLs collected from READMEs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlCanonicalizerBenchmark {
+    private final String[] urls = {
+        "https://boards.greenhouse.io/acme/jobs/4012345?utm_source=Simplify&ref=Simplify",
+        "https://jobs.lever.co/acme/0f6c1a2b-3d4e-5f60-7182-93a4b5c6d7e8/apply?utm_source=github&utm_medium=readme",
+        "https://jobs.ashbyhq.com/acme/7d9b2c1e-aaaa-bbbb-cccc-1234567890ab",
+        "https://acme.wd1.myworkdayjobs.com/en-US/External/job/Remote/Software-Engineer_R-12345?source=LinkedIn"
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void canonicalize(Blackhole bh) {
+        for (String url : urls) {
+            bh.consume(UrlCanonicalizer.canonicalize(url));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.matcher;
+
+import com.example.model.JobInfo;
+import com.example.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching a user against synthetic job catalogs, via the full scan and via the skill index.
+ * matchJobsScan and matchJobsIndex both return every match, sorted, so they compare like
+ * with like; matchTopKIndex is the index path the API and CLI take, keeping only the best 10.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobMatcherBenchmark {
+    private static final String[] SKILLS = {
+        "Java", "Python", "JavaScript", "TypeScript", "Go", "Rust", "C++", "C#", "Kotlin", "Scala",
+        "React", "React.js", "Node.js", "Angular", "Vue", "Spring Boot", "Django", "Flask", "Rails",
+        "SQL", "PostgreSQL", "MySQL", "MongoDB", "Redis", "Kafka", "Spark", "Airflow", "Snowflake",
+        "AWS", "GCP", "Azure", "Docker", "Kubernetes", "Terraform", "Linux", "Git", "CI/CD",
+        "REST APIs", "GraphQL", "gRPC", "Microservices", "Machine Learning", "PyTorch", "TensorFlow",
+        "Data Structures", "Algorithms", "Distributed Systems", "Communication", "Agile", "Testing"
+    };
+
+    @Param({"1000", "10000", "100000"})
+    public int jobs;
+
+    private final JobMatcher matcher = new JobMatcher();
+    private List<JobInfo> catalog;
+    private SkillIndex index;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        catalog = new ArrayList<>(jobs);
+        for (int i = 0; i < jobs; i++) {
+            catalog.add(JobInfo.builder()
+                .id(i + 1)
+                .jobLinkId(i + 1)
+                .title("Software Engineer " + i)
+                .company("Company " + (i % 500))
+                .requirements(requirementsJson(random, 4 + random.nextInt(8)))
+                .scrapedAt(Instant.EPOCH.plusSeconds(i))
+                .build());
+        }
+
+        index = new SkillIndex();
+        index.load(catalog, true);
+
+        user = new User(1, "bench@example.com", "", "Bench", null, null,
+            "[\"java\", \"k8s\", \"postgres\", \"react\", \"aws\", \"docker\", \"sql\", \"git\"]",
+            null, null, null, Instant.EPOCH, Instant.EPOCH);
+    }
+
+    private static String requirementsJson(Random random, int count) {
+        List<String> quoted = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            quoted.add("\"" + SKILLS[random.nextInt(SKILLS.length)] + "\"");
+        }
+        return "[" + String.join(", ", quoted) + "]";
+    }
+
+    @Benchmark
+    public void matchJobsScan(Blackhole bh) throws Exception {
+        bh.consume(matcher.matchJobs(user, catalog));
+    }
+
+    @Benchmark
+    public void matchJobsIndex(Blackhole bh) throws Exception {
+        bh.consume(matcher.matchJobs(user, index));
+    }
+
+    @Benchmark
+    public void matchTopKIndex(Blackhole bh) throws Exception {
+        bh.consume(matcher.matchTopK(user, index, 10));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.matcher;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single skill comparisons: exact, substring, synonym and miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkillsMatchBenchmark {
+    private final String[][] pairs = {
+        {"Java", "java"},
+        {"JavaScript", "JavaScript ES6"},
+        {"k8s", "Kubernetes"},
+        {"node", "Node.js"},
+        {"Python", "Terraform"},
+        {"PostgreSQL", "MongoDB"}
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public void skillsMatch(Blackhole bh) {
+        for (String[] pair : pairs) {
+            bh.consume(JobMatcher.skillsMatch(pair[0], pair[1]));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.persistence;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and mapping job_info rows from an in-memory SQLite database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobInfoRowMappingBenchmark {
+    private static final int ROWS = 1000;
+
+    private Connection conn;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("""
+                CREATE TABLE job_info (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    job_link_id INTEGER NOT NULL UNIQUE,
+                    scraped_at TEXT NOT NULL,
+                    scrape_success INTEGER NOT NULL DEFAULT 1,
+                    title TEXT, company TEXT, location TEXT, remote_type TEXT,
+                    salary TEXT, description TEXT, requirements TEXT, job_type TEXT,
+                    posted_date TEXT, application_url TEXT
+                )
+                """);
+        }
+
+        String insert = """
+            INSERT INTO job_info (job_link_id, scraped_at, scrape_success, title, company, location,
+                                  remote_type, salary, description, requirements, job_type,
+                                  posted_date, application_url)
+            VALUES (?, ?, 1, ?, ?, ?, 'remote', '$120k-$150k', ?, ?, 'full-time', '2025-11-01', ?)
+            """;
+        String description = "We are looking for an engineer to build reliable systems. ".repeat(40);
+        try (PreparedStatement ps = conn.prepareStatement(insert)) {
+            for (int i = 0; i < ROWS; i++) {
+                ps.setInt(1, i + 1);
+                ps.setString(2, Instant.EPOCH.plusSeconds(i).toString());
+                ps.setString(3, "Software Engineer " + i);
+                ps.setString(4, "Company " + (i % 50));
+                ps.setString(5, "San Francisco, CA");
+                ps.setString(6, description);
+                ps.setString(7, "[\"Java\", \"SQL\", \"AWS\", \"Docker\"]");
+                ps.setString(8, "https://boards.greenhouse.io/acme/jobs/" + i);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        conn.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mapResultSetToJobInfo(Blackhole bh) throws Exception {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT * FROM job_info");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(SqliteJobInfoRepository.mapResultSetToJobInfo(rs));
+            }
+        }
+    }
+}
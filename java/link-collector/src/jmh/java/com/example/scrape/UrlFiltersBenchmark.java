@@ -0,0 +1,35 @@
+package com.example.scrape;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct-application-link filtering over a mix of ATS postings and skipped hosts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlFiltersBenchmark {
+    private final URI[] uris = {
+        URI.create("https://boards.greenhouse.io/acme/jobs/4012345"),
+        URI.create("https://jobs.lever.co/acme/0f6c1a2b-3d4e-5f60-7182-93a4b5c6d7e8"),
+        URI.create("https://acme.wd1.myworkdayjobs.com/en-US/External/job/Remote/Software-Engineer_R-12345"),
+        URI.create("https://github.com/SimplifyJobs/Summer2025-Internships"),
+        URI.create("https://www.acme.com/careers/software-engineer"),
+        URI.create("https://apply.workable.com/acme/j/ABC1234567/")
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public void isDirectApplicationLink(Blackhole bh) {
+        for (URI uri : uris) {
+            bh.consume(UrlFilters.isDirectApplicationLink(uri));
+        }
+    }
+}
@@ -1,34 +1,49 @@
 package com.example.api;
 
 import com.example.matcher.JobMatcher;
+import com.example.matcher.SkillIndex;
 import com.example.model.*;
 import com.example.persistence.*;
 import com.example.scrape.ResumeParser;
 import com.example.util.PasswordUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.javalin.Javalin;
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
 
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * REST API server for the Job Finding AI Agent.
  * Provides endpoints for frontend integration.
  */
 public class ApiServer {
-    private final String jdbcUrl;
+
+    private final DataSource dataSource;
     private final String openAiApiKey;
     private final ObjectMapper objectMapper;
     private final JobMatcher jobMatcher;
+    private final SkillIndex skillIndex;
+    private final UserRepository userRepo;
+    private final JobInfoRepository jobRepo;
+    private final ApplicationRepository appRepo;
 
-    public ApiServer(String jdbcUrl, String openAiApiKey) {
-        this.jdbcUrl = jdbcUrl;
+    public ApiServer(DataSource dataSource, String openAiApiKey) {
+        this.dataSource = dataSource;
         this.openAiApiKey = openAiApiKey;
         this.objectMapper = new ObjectMapper();
         this.jobMatcher = new JobMatcher();
+        this.skillIndex = new SkillIndex();
+        this.userRepo = new SqliteUserRepository(dataSource);
+        this.jobRepo = new SqliteJobInfoRepository(dataSource);
+        this.appRepo = new SqliteApplicationRepository(dataSource);
     }
 
     public void start(int port) {
@@ -46,6 +61,16 @@ public class ApiServer {
             ctx.json(Map.of("status", "ok", "message", "Job Finding AI Agent API"));
         });
 
+        // Connection pool metrics
+        app.get("/api/metrics/db", ctx -> {
+            var metrics = Database.metrics(dataSource);
+            if (metrics.isEmpty()) {
+                ctx.status(HttpStatus.NOT_FOUND).json(Map.of("error", "Pool metrics not available"));
+                return;
+            }
+            ctx.json(metrics.get());
+        });
+
         // User endpoints
         app.post("/api/users/register", this::registerUser);
         app.post("/api/users/login", this::loginUser);
@@ -69,6 +94,7 @@ public class ApiServer {
         System.out.println("✅ API Server started on http://localhost:" + port);
         System.out.println("📚 API Documentation available at endpoints:");
         System.out.println("   GET  /api/health");
+        System.out.println("   GET  /api/metrics/db");
         System.out.println("   POST /api/users/register");
         System.out.println("   POST /api/users/login");
         System.out.println("   GET  /api/users/{email}");
@@ -84,15 +110,13 @@ public class ApiServer {
     }
 
     public static void main(String[] args) {
-        String jdbcUrl = Optional.ofNullable(System.getenv("JDBC_URL"))
-            .orElse("jdbc:sqlite:jobs.db");
         String apiKey = Optional.ofNullable(System.getenv("OPENAI_API_KEY"))
             .orElse("");
         int port = Optional.ofNullable(System.getenv("API_SERVER_PORT"))
             .map(Integer::parseInt)
             .orElse(8080);
 
-        ApiServer server = new ApiServer(jdbcUrl, apiKey);
+        ApiServer server = new ApiServer(Database.createPoolFromEnv(), apiKey);
         server.start(port);
     }
 
@@ -110,8 +134,6 @@ public class ApiServer {
                 return;
             }
 
-            UserRepository userRepo = new SqliteUserRepository(jdbcUrl);
-
             // Check if user exists
             if (userRepo.existsByEmail(email)) {
                 ctx.status(HttpStatus.CONFLICT).json(Map.of("error", "User already exists"));
@@ -153,7 +175,6 @@ public class ApiServer {
                 return;
             }
 
-            UserRepository userRepo = new SqliteUserRepository(jdbcUrl);
             var userOpt = userRepo.findByEmail(email);
 
             if (userOpt.isEmpty()) {
@@ -182,7 +203,6 @@ public class ApiServer {
     private void getUser(Context ctx) {
         try {
             String email = ctx.pathParam("email");
-            UserRepository userRepo = new SqliteUserRepository(jdbcUrl);
             var userOpt = userRepo.findByEmail(email);
 
             if (userOpt.isEmpty()) {
@@ -215,7 +235,6 @@ public class ApiServer {
                 return;
             }
 
-            UserRepository userRepo = new SqliteUserRepository(jdbcUrl);
             var userOpt = userRepo.findByEmail(email);
 
             if (userOpt.isEmpty()) {
@@ -261,13 +280,19 @@ public class ApiServer {
 
     private void getAllJobs(Context ctx) {
         try {
-            JobInfoRepository jobRepo = new SqliteJobInfoRepository(jdbcUrl);
-            List<JobInfo> jobs = jobRepo.findAll();
+            JobInfoQuery query = listingQuery(ctx).build();
 
-            ctx.json(Map.of(
-                "total", jobs.size(),
-                "jobs", jobs
-            ));
+            boolean ndjson = "ndjson".equals(ctx.queryParam("format"));
+            if (ndjson || "true".equals(ctx.queryParam("stream"))) {
+                // Every matching row, written as it is read from the cursor
+                streamRows(ctx, ndjson, Map.of(), "jobs",
+                    sink -> jobRepo.forEach(query, job -> sink.handle(projectJob(job, query.fields()))));
+                return;
+            }
+
+            ctx.json(pagePayload(jobRepo.findPage(query), query));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(Map.of("error", e.getMessage()));
         }
@@ -276,7 +301,6 @@ public class ApiServer {
     private void getJobById(Context ctx) {
         try {
             int id = Integer.parseInt(ctx.pathParam("id"));
-            JobInfoRepository jobRepo = new SqliteJobInfoRepository(jdbcUrl);
             List<JobInfo> jobs = jobRepo.findByJobLinkIds(List.of(id));
 
             if (jobs.isEmpty()) {
@@ -292,29 +316,148 @@ public class ApiServer {
 
     private void searchJobs(Context ctx) {
         try {
-            String query = ctx.queryParam("q");
-            JobInfoRepository jobRepo = new SqliteJobInfoRepository(jdbcUrl);
-            List<JobInfo> allJobs = jobRepo.findAll();
+            // Ranked full-text search over title, company, location, description
+            JobInfoQuery query = listingQuery(ctx).text(ctx.queryParam("q")).build();
+            ctx.json(pagePayload(jobRepo.findPage(query), query));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(Map.of("error", e.getMessage()));
+        }
+    }
 
-            if (query == null || query.trim().isEmpty()) {
-                ctx.json(Map.of("total", allJobs.size(), "jobs", allJobs));
-                return;
+    /**
+     * Read the filters, projection and cursor shared by the job listing endpoints.
+     */
+    private JobInfoQuery.Builder listingQuery(Context ctx) {
+        String fields = ctx.queryParam("fields");
+        return JobInfoQuery.builder()
+            .remoteType(ctx.queryParam("remote_type"))
+            .jobType(ctx.queryParam("job_type"))
+            .company(ctx.queryParam("company"))
+            .location(ctx.queryParam("location"))
+            .fields(fields == null || fields.isBlank() ? JobInfoQuery.LIST_FIELDS : parseFields(fields))
+            .cursor(ctx.queryParam("cursor"))
+            .limit(ctx.queryParamAsClass("limit", Integer.class).getOrDefault(JobInfoQuery.DEFAULT_LIMIT));
+    }
+
+    private static Set<String> parseFields(String fields) {
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                parsed.add(field.trim());
             }
+        }
+        return parsed;
+    }
+
+    private static Map<String, Object> pagePayload(JobInfoPage page, JobInfoQuery query) {
+        List<Map<String, Object>> jobs = page.jobs().stream()
+            .map(job -> projectJob(job, query.fields()))
+            .toList();
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("count", jobs.size());
+        payload.put("nextCursor", page.nextCursor());
+        payload.put("jobs", jobs);
+        return payload;
+    }
 
-            // Simple text search in title, company, location, description
-            String lowerQuery = query.toLowerCase();
-            List<JobInfo> filtered = allJobs.stream()
-                .filter(job ->
-                    (job.title() != null && job.title().toLowerCase().contains(lowerQuery)) ||
-                    (job.company() != null && job.company().toLowerCase().contains(lowerQuery)) ||
-                    (job.location() != null && job.location().toLowerCase().contains(lowerQuery)) ||
-                    (job.description() != null && job.description().toLowerCase().contains(lowerQuery))
-                )
-                .toList();
-
-            ctx.json(Map.of("total", filtered.size(), "jobs", filtered));
+    /**
+     * Serialize only the requested fields, so list views don't ship full descriptions.
+     */
+    private static Map<String, Object> projectJob(JobInfo job, Set<String> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String field : JobInfoQuery.FIELDS) {
+            if (!fields.contains(field)) {
+                continue;
+            }
+            Object value = switch (field) {
+                case "id" -> job.id();
+                case "jobLinkId" -> job.jobLinkId();
+                case "title" -> job.title();
+                case "company" -> job.company();
+                case "location" -> job.location();
+                case "remoteType" -> job.remoteType();
+                case "salary" -> job.salary();
+                case "description" -> job.description();
+                case "requirements" -> job.requirements();
+                case "jobType" -> job.jobType();
+                case "postedDate" -> job.postedDate();
+                case "applicationUrl" -> job.applicationUrl();
+                case "scrapedAt" -> job.scrapedAt() != null ? job.scrapedAt().toString() : null;
+                case "scrapeSuccess" -> job.scrapeSuccess();
+                default -> throw new IllegalArgumentException("Unknown field: " + field);
+            };
+            projected.put(field, value);
+        }
+        return projected;
+    }
+
+    private static Map<String, Object> matchPayload(JobMatch match) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("jobInfo", projectJob(match.jobInfo(), SkillIndex.FIELDS));
+        payload.put("matchScore", match.matchScore());
+        payload.put("matchedSkills", match.matchedSkills());
+        payload.put("missingSkills", match.missingSkills());
+        payload.put("explanation", match.explanation());
+        payload.put("matchLevel", match.getMatchLevel());
+        return payload;
+    }
+
+    /**
+     * Source of rows for a streamed response.
+     */
+    @FunctionalInterface
+    private interface RowSource {
+        void writeTo(RowHandler<Object> sink) throws Exception;
+    }
+
+    /**
+     * Write rows to the response as they are produced instead of building the
+     * whole payload first, so heap use stays flat however many rows there are.
+     * JSON mode writes {header..., arrayField: [rows], "count": n}; NDJSON mode
+     * writes one row per line. Nothing reaches the client before the first row,
+     * so failures up to that point still get a normal error response. A failure
+     * after that leaves the body truncated rather than closing it as valid JSON.
+     */
+    private void streamRows(Context ctx, boolean ndjson, Map<String, Object> header, String arrayField,
+                            RowSource source) throws Exception {
+        ctx.contentType(ndjson ? "application/x-ndjson" : "application/json");
+        JsonGenerator gen = objectMapper.createGenerator(ctx.outputStream());
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        gen.setRootValueSeparator(null);
+
+        int[] count = {0};
+        try {
+            if (!ndjson) {
+                gen.writeStartObject();
+                for (Map.Entry<String, Object> field : header.entrySet()) {
+                    gen.writeObjectField(field.getKey(), field.getValue());
+                }
+                gen.writeArrayFieldStart(arrayField);
+            }
+
+            source.writeTo(row -> {
+                gen.writeObject(row);
+                if (ndjson) {
+                    gen.writeRaw('\n');
+                }
+                count[0]++;
+            });
+
+            if (!ndjson) {
+                gen.writeEndArray();
+                gen.writeNumberField("count", count[0]);
+                gen.writeEndObject();
+            }
+            gen.close();
         } catch (Exception e) {
-            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(Map.of("error", e.getMessage()));
+            if (count[0] == 0) {
+                throw e; // Nothing sent yet
+            }
+            System.err.println("Streamed response aborted after " + count[0] + " rows: " + e.getMessage());
+            gen.close();
         }
     }
 
@@ -324,8 +467,11 @@ public class ApiServer {
         try {
             String email = ctx.pathParam("email");
             int limit = ctx.queryParamAsClass("limit", Integer.class).getOrDefault(10);
+            if (limit < 1) {
+                ctx.status(HttpStatus.BAD_REQUEST).json(Map.of("error", "limit must be at least 1"));
+                return;
+            }
 
-            UserRepository userRepo = new SqliteUserRepository(jdbcUrl);
             var userOpt = userRepo.findByEmail(email);
 
             if (userOpt.isEmpty()) {
@@ -340,15 +486,23 @@ public class ApiServer {
                 return;
             }
 
-            JobInfoRepository jobRepo = new SqliteJobInfoRepository(jdbcUrl);
-            List<JobInfo> allJobs = jobRepo.findAll();
+            skillIndex.refresh(jobRepo);
+
+            JobMatcher.TopMatches top = jobMatcher.matchTopK(user, skillIndex, limit);
 
-            List<JobMatch> matches = jobMatcher.matchJobs(user, allJobs);
-            List<JobMatch> topMatches = matches.stream().limit(limit).toList();
+            boolean ndjson = "ndjson".equals(ctx.queryParam("format"));
+            if (ndjson || "true".equals(ctx.queryParam("stream"))) {
+                streamRows(ctx, ndjson, Map.of("total", top.total()), "matches", sink -> {
+                    for (JobMatch match : top.matches()) {
+                        sink.handle(matchPayload(match));
+                    }
+                });
+                return;
+            }
 
             ctx.json(Map.of(
-                "total", matches.size(),
-                "matches", topMatches
+                "total", top.total(),
+                "matches", top.matches().stream().map(ApiServer::matchPayload).toList()
             ));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(Map.of("error", e.getMessage()));
@@ -369,7 +523,6 @@ public class ApiServer {
                 return;
             }
 
-            UserRepository userRepo = new SqliteUserRepository(jdbcUrl);
             var userOpt = userRepo.findByEmail(email);
 
             if (userOpt.isEmpty()) {
@@ -378,7 +531,6 @@ public class ApiServer {
             }
 
             User user = userOpt.get();
-            ApplicationRepository appRepo = new SqliteApplicationRepository(jdbcUrl);
 
             // Check for duplicate
             if (appRepo.existsByUserAndJob(user.id(), jobInfoId)) {
@@ -406,7 +558,6 @@ public class ApiServer {
             String email = ctx.pathParam("email");
             String statusFilter = ctx.queryParam("status");
 
-            UserRepository userRepo = new SqliteUserRepository(jdbcUrl);
             var userOpt = userRepo.findByEmail(email);
 
             if (userOpt.isEmpty()) {
@@ -415,7 +566,6 @@ public class ApiServer {
             }
 
             User user = userOpt.get();
-            ApplicationRepository appRepo = new SqliteApplicationRepository(jdbcUrl);
 
             List<Application> applications;
             if (statusFilter != null && !statusFilter.isEmpty()) {
@@ -450,7 +600,6 @@ public class ApiServer {
                 return;
             }
 
-            ApplicationRepository appRepo = new SqliteApplicationRepository(jdbcUrl);
             var appOpt = appRepo.findById(appId);
 
             if (appOpt.isEmpty()) {
@@ -481,7 +630,6 @@ public class ApiServer {
         try {
             String email = ctx.pathParam("email");
 
-            UserRepository userRepo = new SqliteUserRepository(jdbcUrl);
             var userOpt = userRepo.findByEmail(email);
 
             if (userOpt.isEmpty()) {
@@ -490,7 +638,6 @@ public class ApiServer {
             }
 
             User user = userOpt.get();
-            ApplicationRepository appRepo = new SqliteApplicationRepository(jdbcUrl);
             var stats = appRepo.countByStatus(user.id());
 
             ctx.json(Map.of("stats", stats));
@@ -1,7 +1,10 @@
 package com.example.api;
 
 import com.example.model.JobInfo;
+import com.example.model.JobInfoPage;
+import com.example.model.JobInfoQuery;
 import com.example.model.User;
+import com.example.persistence.Database;
 import com.example.persistence.JobInfoRepository;
 import com.example.persistence.SqliteJobInfoRepository;
 import com.example.persistence.SqliteUserRepository;
@@ -10,6 +13,7 @@ import io.javalin.Javalin;
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
 
+import javax.sql.DataSource;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
@@ -19,6 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Minimal API surface area dedicated to the AI agent.
@@ -27,8 +32,9 @@ import java.util.Optional;
 public final class SimpleApiServer {
     private static final int DEFAULT_LIMIT = 30;
     private static final int BUFFER_MAX = 100;
+    private static final Set<String> AGENT_FIELDS =
+        Set.of("id", "jobLinkId", "company", "title", "location", "description", "applicationUrl");
 
-    private final String jdbcUrl;
     private final JobInfoRepository jobRepo;
     private final UserRepository userRepo;
     private final int jobLimit;
@@ -37,10 +43,9 @@ public final class SimpleApiServer {
     private final List<Map<String, Object>> resultBuffer = Collections.synchronizedList(new ArrayList<>());
     private final List<Map<String, Object>> progressBuffer = Collections.synchronizedList(new ArrayList<>());
 
-    public SimpleApiServer(String jdbcUrl, int jobLimit, String resumeEmail, Path projectsPdfPath) {
-        this.jdbcUrl = jdbcUrl;
-        this.jobRepo = new SqliteJobInfoRepository(jdbcUrl);
-        this.userRepo = new SqliteUserRepository(jdbcUrl);
+    public SimpleApiServer(DataSource dataSource, int jobLimit, String resumeEmail, Path projectsPdfPath) {
+        this.jobRepo = new SqliteJobInfoRepository(dataSource);
+        this.userRepo = new SqliteUserRepository(dataSource);
         this.jobLimit = jobLimit <= 0 ? DEFAULT_LIMIT : jobLimit;
         this.resumeEmail = resumeEmail;
         this.projectsPdfPath = projectsPdfPath;
@@ -79,12 +84,31 @@ public final class SimpleApiServer {
 
     private void handleJobs(Context ctx) {
         try {
-            List<JobInfo> jobs = jobRepo.findAll();
+            // The agent doesn't follow nextCursor, so read pages until jobLimit is reached
+            List<JobInfo> jobs = new ArrayList<>();
+            String cursor = ctx.queryParam("cursor");
+            do {
+                JobInfoQuery query = JobInfoQuery.builder()
+                    .fields(AGENT_FIELDS)
+                    .cursor(cursor)
+                    .limit(Math.min(jobLimit - jobs.size(), JobInfoQuery.MAX_LIMIT))
+                    .build();
+                JobInfoPage page = jobRepo.findPage(query);
+                jobs.addAll(page.jobs());
+                cursor = page.nextCursor();
+            } while (cursor != null && jobs.size() < jobLimit);
+
             List<Map<String, Object>> payload = jobs.stream()
-                .limit(jobLimit)
                 .map(this::toJobPayload)
                 .toList();
-            ctx.json(Map.of("jobs", payload, "total", payload.size()));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("jobs", payload);
+            response.put("total", payload.size());
+            response.put("nextCursor", cursor);
+            ctx.json(response);
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(Map.of("error", e.getMessage()));
         }
@@ -204,7 +228,6 @@ public final class SimpleApiServer {
     }
 
     public static void main(String[] args) {
-        String jdbcUrl = Optional.ofNullable(System.getenv("JDBC_URL")).orElse("jdbc:sqlite:jobs.db");
         int port = Optional.ofNullable(System.getenv("AGENT_API_PORT"))
             .map(Integer::parseInt)
             .orElse(7071);
@@ -217,7 +240,8 @@ public final class SimpleApiServer {
             ? Path.of(projectsPathStr)
             : null;
 
-        SimpleApiServer server = new SimpleApiServer(jdbcUrl, jobLimit, resumeEmail, projectsPath);
+        DataSource dataSource = Database.createPoolFromEnv();
+        SimpleApiServer server = new SimpleApiServer(dataSource, jobLimit, resumeEmail, projectsPath);
         server.start(port);
     }
 }
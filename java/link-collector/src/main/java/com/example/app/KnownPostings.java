@@ -0,0 +1,125 @@
+package com.example.app;
+
+import com.example.classify.UrlCanonicalizer;
+import com.example.persistence.JobLinkRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Posting keys of the links already stored, for dropping duplicate leads before they are saved.
+ *
+ * Keys are held in a Bloom filter rather than a set, so memory stays at a few
+ * bytes per stored link however long the keys are. A miss means the key
+ * is certainly new; only hits, nearly all true duplicates, are confirmed
+ * against the database, so a false positive never drops a new posting.
+ *
+ * One filter lives as long as the process. {@link #refresh} before each use
+ * streams in only the links stored since the last one, by this process or
+ * another, and keys saved here are {@link #addAll added} directly.
+ */
+final class KnownPostings {
+    static final double FALSE_POSITIVE_RATE = 0.001;
+    // room for keys added after loading before the false positive rate degrades
+    static final int MIN_CAPACITY = 10_000;
+
+    private final JobLinkRepository repo;
+    private long[] bits;
+    private int hashes;
+    private int capacity;
+    private int count;
+    private int lastLinkId;
+
+    KnownPostings(JobLinkRepository repo) {
+        this.repo = repo;
+    }
+
+    /**
+     * Bring the filter up to date with the stored links.
+     * The first call backfills keys of links saved before they were recorded and
+     * loads every stored key; later calls only read links stored since. The filter
+     * is rebuilt at twice the size once it holds more keys than it was sized for.
+     */
+    void refresh() throws Exception {
+        if (bits == null) {
+            int backfilled = repo.backfillPostingKeys(url -> UrlCanonicalizer.canonicalize(url).postingKey());
+            if (backfilled > 0) {
+                System.out.println("Backfilled posting keys for " + backfilled + " stored link(s).");
+            }
+        } else {
+            lastLinkId = repo.forEachPostingKey(lastLinkId, this::add);
+            if (count <= capacity) {
+                return;
+            }
+        }
+
+        allocate(Math.max(MIN_CAPACITY, repo.countLinks() * 2));
+        lastLinkId = repo.forEachPostingKey(0, this::add);
+    }
+
+    /**
+     * Which of the keys are already stored.
+     */
+    Set<String> existing(Collection<String> keys) throws Exception {
+        List<String> maybe = keys.stream().filter(this::mightContain).toList();
+        return maybe.isEmpty() ? Set.of() : repo.findExistingPostingKeys(maybe);
+    }
+
+    void addAll(Collection<String> keys) {
+        keys.forEach(this::add);
+    }
+
+    int size() {
+        return count;
+    }
+
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        // Standard sizing: m = -n ln p / (ln 2)^2 bits, k = m/n ln 2 hashes
+        long m = (long) Math.ceil(-capacity * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+        bits = new long[(int) ((m + 63) / 64)];
+        hashes = Math.max(1, (int) Math.round((double) bits.length * 64 / capacity * Math.log(2)));
+        count = 0;
+    }
+
+    private void add(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1) | 1;
+        long m = (long) bits.length * 64;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, m);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        count++;
+    }
+
+    private boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1) | 1;
+        long m = (long) bits.length * 64;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, m);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a over the chars, finished with a mixer so nearby keys spread out
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.app;
+
+import com.example.classify.UrlCanonicalizer;
+import com.example.model.JobLead;
+import com.example.model.JobLink;
+import com.example.persistence.JobLinkRepository;
+import com.example.persistence.SourceSnapshotRepository;
+import com.example.scrape.LeadCollector;
+import com.example.scrape.SourceFingerprints;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Collects leads from several README sources at once and saves the new ones as job links.
+ *
+ * Sources are fetched in parallel. Each one is fingerprinted and diffed against
+ * its previous collection: an unchanged table is skipped outright, and otherwise
+ * only rows added since last time go on. Those rows from every source are then
+ * canonicalized with {@link UrlCanonicalizer} and deduplicated by posting key,
+ * both against each other and against the links already stored (see
+ * {@link KnownPostings}), and what is left is saved in a single batch.
+ * Snapshots are saved after the links, so a failed save is retried next time.
+ *
+ * A source that fails is reported and left out; the others are still saved.
+ */
+final class LinkCollection {
+    static final int DEFAULT_PARALLELISM = 4;
+
+    private final LeadCollector collector;
+    private final JobLinkRepository repo;
+    private final SourceSnapshotRepository snapshots;
+    private final int parallelism;
+    private final KnownPostings known;
+
+    LinkCollection(LeadCollector collector, JobLinkRepository repo,
+                   SourceSnapshotRepository snapshots, int parallelism) {
+        this.collector = collector;
+        this.repo = repo;
+        this.snapshots = snapshots;
+        this.parallelism = Math.max(1, parallelism);
+        this.known = new KnownPostings(repo);
+    }
+
+    /**
+     * What one source yielded.
+     * @param added row hashes new since the last collection; empty when unchanged or failed
+     * @param error why the source failed, or null
+     */
+    record SourceResult(String sourceUrl, List<JobLead> leads, boolean unchanged, String contentHash,
+                        Map<String, JobLead> rows, List<String> added, List<String> removed,
+                        long millis, String error) {
+        boolean changed() {
+            return error == null && !unchanged;
+        }
+    }
+
+    /**
+     * Outcome of a collection run.
+     * @param saved links handed to the repository (already-known URLs are ignored there)
+     * @param duplicates added rows dropped because another row had the same posting key
+     * @param alreadyStored added rows dropped because their posting was stored under another URL
+     * @param overlapping postings listed by more than one source
+     */
+    record Report(List<SourceResult> sources, int saved, int duplicates, int alreadyStored, int overlapping) {
+        int failed() {
+            return (int) sources.stream().filter(s -> s.error() != null).count();
+        }
+    }
+
+    Report collect(List<String> sourceUrls) throws Exception {
+        List<SourceResult> results = fetchAll(sourceUrls);
+
+        // posting key -> sources listing it, across every fetched lead
+        Map<String, Set<String>> listedBy = new HashMap<>();
+        for (SourceResult result : results) {
+            for (JobLead lead : result.leads()) {
+                listedBy.computeIfAbsent(UrlCanonicalizer.canonicalize(lead.applyUrl()).postingKey(),
+                        k -> new HashSet<>()).add(result.sourceUrl());
+            }
+        }
+        int overlapping = (int) listedBy.values().stream().filter(s -> s.size() > 1).count();
+
+        // Only rows added since the last collection, one per posting, in source order
+        var now = Instant.now();
+        Map<String, JobLink> links = new LinkedHashMap<>();
+        int duplicates = 0;
+        for (SourceResult result : results) {
+            if (!result.changed()) {
+                continue;
+            }
+            for (String hash : result.added()) {
+                JobLead lead = result.rows().get(hash);
+                UrlCanonicalizer.Canonical canon = UrlCanonicalizer.canonicalize(lead.applyUrl());
+                if (links.containsKey(canon.postingKey())) {
+                    duplicates++;
+                    continue;
+                }
+                links.put(canon.postingKey(), new JobLink(canon.url(), canon.hostType().name(),
+                        lead.sourceUrl(), now, canon.postingKey()));
+            }
+        }
+
+        // Drop postings already stored, whatever URL they were saved under
+        int alreadyStored = 0;
+        if (!links.isEmpty()) {
+            known.refresh();
+            Set<String> stored = known.existing(links.keySet());
+            alreadyStored = stored.size();
+            links.keySet().removeAll(stored);
+        }
+
+        // persiste and ignore dubps; links first, so a failed save is retried next time
+        if (!links.isEmpty()) {
+            repo.saveAllIgnoreDuplicates(new ArrayList<>(links.values()));
+            known.addAll(links.keySet());
+        }
+        for (SourceResult result : results) {
+            if (result.changed()) {
+                snapshots.saveSnapshot(result.sourceUrl(), result.contentHash(), result.rows().size(),
+                        result.added(), result.removed());
+            }
+        }
+        return new Report(results, links.size(), duplicates, alreadyStored, overlapping);
+    }
+
+    private List<SourceResult> fetchAll(List<String> sourceUrls) throws InterruptedException {
+        if (sourceUrls.size() == 1) {
+            return List.of(fetch(sourceUrls.get(0)));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, sourceUrls.size()));
+        try {
+            List<Future<SourceResult>> futures = new ArrayList<>();
+            for (String url : sourceUrls) {
+                futures.add(pool.submit(() -> fetch(url)));
+            }
+            List<SourceResult> results = new ArrayList<>();
+            for (Future<SourceResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause()); // fetch catches its own failures
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Collect one source and diff its rows against the last snapshot.
+     */
+    private SourceResult fetch(String sourceUrl) {
+        long start = System.nanoTime();
+        try {
+            List<JobLead> leads = collector.collect(sourceUrl);
+
+            // row hash -> lead, in table order
+            Map<String, JobLead> current = new LinkedHashMap<>();
+            for (JobLead lead : leads) {
+                current.putIfAbsent(SourceFingerprints.rowHash(lead), lead);
+            }
+            String contentHash = SourceFingerprints.contentHash(current.keySet());
+            if (snapshots.findContentHash(sourceUrl).filter(contentHash::equals).isPresent()) {
+                return new SourceResult(sourceUrl, leads, true, contentHash, current, List.of(), List.of(),
+                        elapsedMillis(start), null);
+            }
+
+            Set<String> known = snapshots.findRowHashes(sourceUrl);
+            List<String> added = current.keySet().stream().filter(h -> !known.contains(h)).toList();
+            List<String> removed = known.stream().filter(h -> !current.containsKey(h)).toList();
+            return new SourceResult(sourceUrl, leads, false, contentHash, current, added, removed,
+                    elapsedMillis(start), null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(sourceUrl, start, "interrupted");
+        } catch (Exception e) {
+            return failed(sourceUrl, start, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static SourceResult failed(String sourceUrl, long start, String error) {
+        return new SourceResult(sourceUrl, List.of(), false, null, Map.of(), List.of(), List.of(),
+                elapsedMillis(start), error);
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    static void print(Report report) {
+        for (SourceResult s : report.sources()) {
+            String outcome;
+            if (s.error() != null) {
+                outcome = "failed (" + s.error() + ")";
+            } else if (s.unchanged()) {
+                outcome = s.leads().size() + " leads, unchanged since last collection";
+            } else {
+                outcome = s.leads().size() + " leads, " + s.added().size() + " added, "
+                        + s.removed().size() + " gone";
+            }
+            System.out.printf("  %s: %s in %dms%n", s.sourceUrl(), outcome, s.millis());
+        }
+        System.out.printf("Saved to DB: %d new row(s) from %d source(s) (duplicates ignored); "
+                        + "%d duplicate row(s) merged, %d already stored under another URL, "
+                        + "%d posting(s) listed by more than one source, %d source(s) failed.%n",
+                report.saved(), report.sources().size(), report.duplicates(), report.alreadyStored(),
+                report.overlapping(), report.failed());
+    }
+}
@@ -1,43 +1,62 @@
 package com.example.app;
 
-import com.example.classify.HostClassifier;
 import com.example.model.JobInfo;
-import com.example.model.JobLink;
-import com.example.model.JobLead;
 import com.example.model.User;
 import com.example.model.Application;
 import com.example.model.JobMatch;
+import com.example.persistence.Database;
 import com.example.persistence.JobInfoRepository;
 import com.example.persistence.JobLinkRepository;
 import com.example.persistence.Migrations;
 import com.example.persistence.SqliteJobInfoRepository;
 import com.example.persistence.SqliteJobLinkRepository;
+import com.example.persistence.SqliteParseCacheRepository;
+import com.example.persistence.SqliteSourceSnapshotRepository;
 import com.example.persistence.UserRepository;
 import com.example.persistence.SqliteUserRepository;
 import com.example.persistence.ApplicationRepository;
 import com.example.persistence.SqliteApplicationRepository;
 import com.example.scrape.GitHubLinkCollector;
+import com.example.scrape.ReadmeTableCollector;
 import com.example.scrape.JobInfoScraper;
 import com.example.scrape.OpenAIJobParser;
+import com.example.scrape.ParseCache;
 import com.example.scrape.ResumeParser;
 import com.example.matcher.JobMatcher;
+import com.example.matcher.SkillIndex;
 import com.example.util.PasswordUtil;
 import com.example.api.ApiServer;
+import com.zaxxer.hikari.HikariDataSource;
 import io.github.cdimascio.dotenv.Dotenv;
 
+import javax.sql.DataSource;
 import java.io.IOException;
-import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class Main {
     private static final Dotenv dotenv = loadDotenv();
     private static final String DEFAULT_JDBC = getEnv("JOBS_DB_URL", "jdbc:sqlite:jobs.db");
     private static final boolean DEFAULT_HEADLESS = Boolean.parseBoolean(getEnv("HEADLESS", "true"));
     private static final String OPENAI_API_KEY = getEnv("OPENAI_API_KEY", null);
+    private static final int DB_POOL_SIZE = Integer.parseInt(
+            getEnv("JOBS_DB_POOL_SIZE", String.valueOf(Database.DEFAULT_POOL_SIZE)));
+    private static final long DB_LEAK_DETECTION_MS = Long.parseLong(
+            getEnv("JOBS_DB_LEAK_DETECTION_MS", String.valueOf(Database.DEFAULT_LEAK_DETECTION_MS)));
+
+    private static final int PARSE_CACHE_MAX_ENTRIES = Integer.parseInt(getEnv("PARSE_CACHE_MAX_ENTRIES", "50000"));
+
+    private static HikariDataSource dataSource;
+
+    // Run at JVM shutdown before the pool closes, so long-running commands can finish their writes
+    private static final List<Runnable> beforePoolClose = new CopyOnWriteArrayList<>();
 
     /**
      * Load .env file if it exists, otherwise return null (will use system env vars)
@@ -74,12 +93,28 @@ public final class Main {
         return value != null ? value : defaultValue;
     }
 
+    /**
+     * Shared connection pool, created on first use and closed at JVM shutdown.
+     */
+    private static synchronized DataSource dataSource() {
+        if (dataSource == null) {
+            dataSource = Database.createPool(DEFAULT_JDBC, DB_POOL_SIZE, DB_LEAK_DETECTION_MS);
+            HikariDataSource pool = dataSource;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                beforePoolClose.forEach(Runnable::run);
+                Database.metrics(pool).ifPresent(m -> System.out.println("DB pool: " + m));
+                Database.close(pool);
+            }, "db-pool-shutdown"));
+        }
+        return dataSource;
+    }
+
     public static void main(String[] args) throws Exception {
         if (args.length == 0) { printHelp(); return; }
         switch (args[0]) {
             case "migrate" -> {
                 System.out.println("Running Flyway migrations on: " + DEFAULT_JDBC);
-                Migrations.migrate(DEFAULT_JDBC);
+                Migrations.migrate(dataSource(), true);
                 System.out.println("Migrations complete.");
             }
             case "collect-github" -> {
@@ -87,11 +122,19 @@ public final class Main {
                     System.err.println("Usage: collect-github <README_URL>");
                     System.exit(2);
                 }
-                collectFromGithub(args[1]);
+                collectSources(List.of(args[1]), 1);
+            }
+            case "collect" -> {
+                List<String> sources = sourceUrls(args);
+                if (sources.isEmpty()) {
+                    System.err.println("Usage: collect [--sources FILE] [--parallel N] [README_URL...]");
+                    System.exit(2);
+                }
+                collectSources(sources, intOption(args, "--parallel", LinkCollection.DEFAULT_PARALLELISM));
             }
             case "scrape-jobs" -> {
                 int limit = 10; // default
-                if (args.length >= 2) {
+                if (args.length >= 2 && !args[1].startsWith("--")) {
                     try {
                         limit = Integer.parseInt(args[1]);
                     } catch (NumberFormatException e) {
@@ -99,10 +142,14 @@ public final class Main {
                         System.exit(2);
                     }
                 }
-                scrapeJobs(limit);
+                scrapeJobs(limit, scrapeOptions(args));
             }
             case "scrape-all" -> {
-                scrapeJobs(Integer.MAX_VALUE); // scrape all available jobs
+                // scrape all available jobs
+                scrapeJobs(Integer.MAX_VALUE, scrapeOptions(args));
+            }
+            case "worker" -> {
+                runWorker(args);
             }
             case "create-user" -> {
                 createUser();
@@ -164,98 +211,171 @@ public final class Main {
         }
     }
 
-    private static void collectFromGithub(String readmeUrl) throws Exception {
+    private static void collectSources(List<String> sourceUrls, int parallelism) throws Exception {
         System.out.println("JDBC=" + DEFAULT_JDBC);
 
-        // Test database connection
-        try (var c = java.sql.DriverManager.getConnection(DEFAULT_JDBC)) {
-            System.out.println("DB Connection successful: " + c.getMetaData().getDatabaseProductName());
+        // make sure table exists
+        Migrations.migrate(dataSource());
+
+        var collection = new LinkCollection(new ReadmeTableCollector(new GitHubLinkCollector(DEFAULT_HEADLESS)),
+                new SqliteJobLinkRepository(dataSource()),
+                new SqliteSourceSnapshotRepository(dataSource()), parallelism);
+        LinkCollection.print(collection.collect(sourceUrls));
+    }
+
+    /**
+     * README URLs given as arguments, plus those listed in each "--sources FILE"
+     * (one per line; blank lines and # comments are skipped).
+     */
+    private static List<String> sourceUrls(String[] args) throws IOException {
+        List<String> urls = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--")) {
+                i++; // every collect option takes a value
+            } else if (!urls.contains(args[i])) {
+                urls.add(args[i]);
+            }
         }
+        for (String file : stringOptions(args, "--sources")) {
+            for (String line : Files.readAllLines(Paths.get(file))) {
+                String url = line.strip();
+                if (!url.isEmpty() && !url.startsWith("#") && !urls.contains(url)) {
+                    urls.add(url);
+                }
+            }
+        }
+        return urls;
+    }
 
-        // make sure table exists
-        Migrations.migrate(DEFAULT_JDBC);
-
-        // start to scrape
-        var collector = new GitHubLinkCollector(DEFAULT_HEADLESS);
-        List<JobLead> leads = collector.collect(readmeUrl);
-        System.out.println("Collected " + leads.size() + " leads from README.");
-
-        // transform into job_link ds
-        var now = Instant.now();
-        var rows = leads.stream()
-                .map(l -> {
-                    String canon = normalizeApplyUrl(l.applyUrl());
-                    String host = URI.create(canon).getHost();
-                    String hostType = HostClassifier.classify(host).name();
-                    return new JobLink(canon, hostType, l.sourceUrl(), now);
-                })
-                .toList();
-
-        // persiste and ignore dubps
-        JobLinkRepository repo = new SqliteJobLinkRepository(DEFAULT_JDBC);
-        repo.saveAllIgnoreDuplicates(rows);
-        System.out.println("Saved to DB: " + rows.size() + " (duplicates ignored).");
+    /**
+     * Read an integer flag such as "--concurrency 8" from the arguments.
+     */
+    private static int intOption(String[] args, String name, int defaultValue) {
+        for (int i = 1; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                try {
+                    return Integer.parseInt(args[i + 1]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid value for " + name + ": " + args[i + 1]);
+                    System.exit(2);
+                }
+            }
+        }
+        return defaultValue;
     }
 
-    // strip common tracking params like utm_* and ref=Simplify
-    private static String normalizeApplyUrl(String href) {
-        try {
-            var uri = URI.create(href);
-            var q = uri.getQuery();
-            if (q == null || q.isBlank()) return href;
-            var kept = new StringBuilder();
-            for (String pair : q.split("&")) {
-                var kv = pair.split("=", 2);
-                var key = kv[0].toLowerCase();
-                if (key.startsWith("utm_")) continue;
-                if (key.equals("ref") && kv.length == 2 && kv[1].equalsIgnoreCase("Simplify")) continue;
-                if (kept.length() > 0) kept.append("&");
-                kept.append(pair);
+    /**
+     * Read every value of a repeatable flag such as "--source URL".
+     */
+    private static List<String> stringOptions(String[] args, String name) {
+        List<String> values = new ArrayList<>();
+        for (int i = 1; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                values.add(args[i + 1]);
             }
-            var newQuery = kept.length() == 0 ? null : kept.toString();
-            var clean = new URI(
-                    uri.getScheme(), uri.getAuthority(), uri.getPath(), newQuery, uri.getFragment()
-            ).toString();
-            return clean;
-        } catch (Exception e) {
-            return href; // fallback
         }
+        return values;
     }
 
-    private static void scrapeJobs(int limit) throws Exception {
-        // Validate OpenAI API key
+    private static JobInfoScraper.Options scrapeOptions(String[] args) {
+        var defaults = JobInfoScraper.Options.DEFAULT;
+        return new JobInfoScraper.Options(
+                intOption(args, "--concurrency", defaults.fetchConcurrency()),
+                intOption(args, "--parse-concurrency", defaults.parseConcurrency()),
+                intOption(args, "--batch-size", defaults.batchSize()),
+                intOption(args, "--flush-ms", (int) defaults.flushIntervalMillis()),
+                Duration.ofMinutes(intOption(args, "--lease-minutes", (int) defaults.lease().toMinutes())));
+    }
+
+    private static void requireOpenAIKey() {
         if (OPENAI_API_KEY == null || OPENAI_API_KEY.isBlank()) {
             System.err.println("Error: OPENAI_API_KEY environment variable not set.");
             System.err.println("Please set your OpenAI API key:");
             System.err.println("  export OPENAI_API_KEY='sk-...'");
             System.exit(1);
         }
+    }
+
+    /**
+     * Parse cache backed by the shared pool, or null when disabled.
+     */
+    private static ParseCache parseCache() {
+        return PARSE_CACHE_MAX_ENTRIES > 0
+                ? new ParseCache(new SqliteParseCacheRepository(dataSource()), PARSE_CACHE_MAX_ENTRIES)
+                : null;
+    }
+
+    private static void scrapeJobs(int limit, JobInfoScraper.Options options) throws Exception {
+        // Validate OpenAI API key
+        requireOpenAIKey();
 
         System.out.println("JDBC=" + DEFAULT_JDBC);
         System.out.println("Scraping up to " + limit + " job postings using OpenAI...");
 
         // Ensure migrations are run
-        Migrations.migrate(DEFAULT_JDBC);
+        Migrations.migrate(dataSource());
 
         // Create repositories
-        JobLinkRepository linkRepo = new SqliteJobLinkRepository(DEFAULT_JDBC);
-        JobInfoRepository jobInfoRepo = new SqliteJobInfoRepository(DEFAULT_JDBC);
+        JobLinkRepository linkRepo = new SqliteJobLinkRepository(dataSource());
+        JobInfoRepository jobInfoRepo = new SqliteJobInfoRepository(dataSource());
 
-        // Create OpenAI parser
-        OpenAIJobParser openAIParser = new OpenAIJobParser(OPENAI_API_KEY);
+        // Create OpenAI parser, backed by the parse cache unless disabled
+        ParseCache parseCache = parseCache();
+        OpenAIJobParser openAIParser = new OpenAIJobParser(OPENAI_API_KEY, parseCache);
 
         try {
             // Create and run scraper
-            JobInfoScraper scraper = new JobInfoScraper(linkRepo, jobInfoRepo, openAIParser, DEFAULT_HEADLESS);
+            JobInfoScraper scraper = new JobInfoScraper(linkRepo, jobInfoRepo, openAIParser, DEFAULT_HEADLESS, options);
             int scraped = scraper.scrapeJobs(limit);
 
             System.out.println("\nDone! Successfully scraped " + scraped + " jobs.");
+            if (parseCache != null) {
+                parseCache.evict();
+                System.out.println("Parse cache: " + parseCache);
+            }
         } finally {
             // Clean up OpenAI service
             openAIParser.close();
         }
     }
 
+    private static void runWorker(String[] args) throws Exception {
+        requireOpenAIKey();
+
+        List<String> sources = new ArrayList<>(stringOptions(args, "--source"));
+        for (String url : sourceUrls(args)) {
+            if (!sources.contains(url)) sources.add(url);
+        }
+        String envSources = getEnv("WORKER_SOURCES", "");
+        Arrays.stream(envSources.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty() && !sources.contains(url))
+                .forEach(sources::add);
+
+        Worker.Options options = new Worker.Options(
+                intOption(args, "--batch", 50),
+                Duration.ofSeconds(intOption(args, "--poll-seconds", 60)),
+                Duration.ofMinutes(intOption(args, "--collect-minutes", 360)),
+                sources,
+                Duration.ofSeconds(intOption(args, "--grace-seconds", 60)),
+                scrapeOptions(args));
+
+        System.out.println("JDBC=" + DEFAULT_JDBC);
+        Migrations.migrate(dataSource());
+
+        ParseCache parseCache = parseCache();
+        Worker worker = new Worker(
+                new SqliteJobLinkRepository(dataSource()),
+                new SqliteJobInfoRepository(dataSource()),
+                new SqliteSourceSnapshotRepository(dataSource()),
+                new OpenAIJobParser(OPENAI_API_KEY, parseCache),
+                parseCache,
+                DEFAULT_HEADLESS,
+                options);
+        beforePoolClose.add(worker::stop);
+        worker.run();
+    }
+
     private static void createUser() throws Exception {
         Scanner scanner = new Scanner(System.in);
 
@@ -279,10 +399,10 @@ public final class Main {
         expLevel = expLevel.isEmpty() ? null : expLevel;
 
         // Ensure migrations are run
-        Migrations.migrate(DEFAULT_JDBC);
+        Migrations.migrate(dataSource());
 
         // Check if user already exists
-        UserRepository userRepo = new SqliteUserRepository(DEFAULT_JDBC);
+        UserRepository userRepo = new SqliteUserRepository(dataSource());
         if (userRepo.existsByEmail(email)) {
             System.err.println("Error: User with email " + email + " already exists.");
             System.exit(1);
@@ -323,10 +443,10 @@ public final class Main {
         System.out.println("Resume file: " + resumeFilePath);
 
         // Ensure migrations are run
-        Migrations.migrate(DEFAULT_JDBC);
+        Migrations.migrate(dataSource());
 
         // Find user
-        UserRepository userRepo = new SqliteUserRepository(DEFAULT_JDBC);
+        UserRepository userRepo = new SqliteUserRepository(dataSource());
         var userOpt = userRepo.findByEmail(email);
         if (userOpt.isEmpty()) {
             System.err.println("Error: User with email " + email + " not found.");
@@ -391,10 +511,10 @@ public final class Main {
         System.out.println("=== Apply to Job ===");
 
         // Ensure migrations are run
-        Migrations.migrate(DEFAULT_JDBC);
+        Migrations.migrate(dataSource());
 
         // Find user
-        UserRepository userRepo = new SqliteUserRepository(DEFAULT_JDBC);
+        UserRepository userRepo = new SqliteUserRepository(dataSource());
         var userOpt = userRepo.findByEmail(email);
         if (userOpt.isEmpty()) {
             System.err.println("Error: User with email " + email + " not found.");
@@ -403,12 +523,12 @@ public final class Main {
         User user = userOpt.get();
 
         // Find job
-        JobInfoRepository jobInfoRepo = new SqliteJobInfoRepository(DEFAULT_JDBC);
+        JobInfoRepository jobInfoRepo = new SqliteJobInfoRepository(dataSource());
         // Note: We need to add a findById method to JobInfoRepository
         // For now, we'll create the application assuming the job exists
 
         // Check if already applied
-        ApplicationRepository appRepo = new SqliteApplicationRepository(DEFAULT_JDBC);
+        ApplicationRepository appRepo = new SqliteApplicationRepository(dataSource());
         if (appRepo.existsByUserAndJob(user.id(), jobId)) {
             System.err.println("Error: You have already applied to this job.");
             System.exit(1);
@@ -442,10 +562,10 @@ public final class Main {
         }
 
         // Ensure migrations are run
-        Migrations.migrate(DEFAULT_JDBC);
+        Migrations.migrate(dataSource());
 
         // Find application
-        ApplicationRepository appRepo = new SqliteApplicationRepository(DEFAULT_JDBC);
+        ApplicationRepository appRepo = new SqliteApplicationRepository(dataSource());
         var appOpt = appRepo.findById(applicationId);
         if (appOpt.isEmpty()) {
             System.err.println("Error: Application #" + applicationId + " not found.");
@@ -474,10 +594,10 @@ public final class Main {
         System.out.println("=== My Applications ===");
 
         // Ensure migrations are run
-        Migrations.migrate(DEFAULT_JDBC);
+        Migrations.migrate(dataSource());
 
         // Find user
-        UserRepository userRepo = new SqliteUserRepository(DEFAULT_JDBC);
+        UserRepository userRepo = new SqliteUserRepository(dataSource());
         var userOpt = userRepo.findByEmail(email);
         if (userOpt.isEmpty()) {
             System.err.println("Error: User with email " + email + " not found.");
@@ -485,7 +605,7 @@ public final class Main {
         }
         User user = userOpt.get();
 
-        ApplicationRepository appRepo = new SqliteApplicationRepository(DEFAULT_JDBC);
+        ApplicationRepository appRepo = new SqliteApplicationRepository(dataSource());
 
         // Get applications
         List<Application> applications;
@@ -525,10 +645,10 @@ public final class Main {
         System.out.println("=== Job Matching ===");
 
         // Ensure migrations are run
-        Migrations.migrate(DEFAULT_JDBC);
+        Migrations.migrate(dataSource());
 
         // Find user
-        UserRepository userRepo = new SqliteUserRepository(DEFAULT_JDBC);
+        UserRepository userRepo = new SqliteUserRepository(dataSource());
         var userOpt = userRepo.findByEmail(email);
         if (userOpt.isEmpty()) {
             System.err.println("Error: User with email " + email + " not found.");
@@ -542,21 +662,23 @@ public final class Main {
             System.exit(1);
         }
 
-        // Load all jobs with scraped data
-        JobInfoRepository jobRepo = new SqliteJobInfoRepository(DEFAULT_JDBC);
-        List<JobInfo> allJobs = jobRepo.findAll();
+        // Index all jobs with scraped requirements
+        JobInfoRepository jobRepo = new SqliteJobInfoRepository(dataSource());
+        SkillIndex index = new SkillIndex();
+        index.refresh(jobRepo);
 
-        if (allJobs.isEmpty()) {
+        if (index.size() == 0) {
             System.out.println("No jobs found in database. Please run scrape-jobs first.");
             return;
         }
 
-        System.out.println("Found " + allJobs.size() + " jobs in database.");
+        System.out.println("Found " + index.size() + " jobs with requirements in database.");
         System.out.println("Matching against user skills...\n");
 
         // Match jobs
         JobMatcher matcher = new JobMatcher();
-        List<JobMatch> matches = matcher.matchJobs(user, allJobs);
+        JobMatcher.TopMatches top = matcher.matchTopK(user, index, Math.max(1, limit));
+        List<JobMatch> matches = top.matches();
 
         if (matches.isEmpty()) {
             System.out.println("No matches found.");
@@ -564,8 +686,8 @@ public final class Main {
         }
 
         // Show top matches
-        int showCount = Math.min(limit, matches.size());
-        System.out.println("🎯 Top " + showCount + " Job Matches:");
+        int showCount = matches.size();
+        System.out.println("🎯 Top " + showCount + " of " + top.total() + " Job Matches:");
         System.out.println("=".repeat(80));
 
         for (int i = 0; i < showCount; i++) {
@@ -603,7 +725,7 @@ public final class Main {
 
         // Ensure migrations are run
         try {
-            Migrations.migrate(DEFAULT_JDBC);
+            Migrations.migrate(dataSource());
         } catch (Exception e) {
             System.err.println("Error running migrations: " + e.getMessage());
             System.exit(1);
@@ -613,7 +735,7 @@ public final class Main {
             System.err.println("Warning: OPENAI_API_KEY not set. Resume parsing will not work.");
         }
 
-        ApiServer server = new ApiServer(DEFAULT_JDBC, OPENAI_API_KEY);
+        ApiServer server = new ApiServer(dataSource(), OPENAI_API_KEY);
         server.start(port);
     }
 
@@ -623,8 +745,24 @@ public final class Main {
         link-collector commands:
           migrate
           collect-github <README_URL>
-          scrape-jobs [LIMIT]          (default limit: 10, scrape jobs using OpenAI)
-          scrape-all                   (scrape all unscraped job links)
+          collect [OPTIONS] [README_URL...]  (collect several READMEs in parallel, merged and deduplicated)
+            --sources FILE         file listing README URLs, one per line; repeatable
+            --parallel N           sources fetched at once (default: 4)
+          scrape-jobs [LIMIT] [OPTIONS]  (default limit: 10, scrape jobs using OpenAI)
+          scrape-all [OPTIONS]           (scrape all unscraped job links)
+            --concurrency N        parallel browser workers (default: 1)
+            --parse-concurrency N  parallel OpenAI calls (default: 2)
+            --batch-size N         results per database write batch (default: 20)
+            --flush-ms N           max wait before writing a partial batch (default: 2000)
+            --lease-minutes N      how long claimed links stay reserved for this process (default: 30)
+          worker [OPTIONS]             (stay running: scrape new links and re-collect READMEs on a schedule)
+            --batch N              links scraped per poll (default: 50)
+            --poll-seconds N       delay between scrape polls (default: 60)
+            --source URL           README to re-collect; repeatable, added to WORKER_SOURCES
+            --sources FILE         file listing README URLs to re-collect, one per line
+            --collect-minutes N    delay between README collections (default: 360)
+            --grace-seconds N      time a running job gets to finish on shutdown (default: 60)
+            plus the scrape-jobs options above
           scrape-job-details [limit]   (alternative scraper, default limit: 10)
           create-user                  (create a new user account)
           parse-resume <email> <resume_file>  (parse resume and extract skills)
@@ -637,6 +775,10 @@ public final class Main {
           JOBS_DB_URL      (default: jdbc:sqlite:jobs.db)
           HEADLESS         true|false (default: true)
           OPENAI_API_KEY   (required for scrape-jobs and parse-resume)
+          JOBS_DB_POOL_SIZE          max pooled DB connections (default: 10)
+          JOBS_DB_LEAK_DETECTION_MS  warn when a connection is held longer (default: 60000, 0 = off)
+          PARSE_CACHE_MAX_ENTRIES    cached OpenAI parse results to keep (default: 50000, 0 = off)
+          WORKER_SOURCES             comma-separated README URLs for the worker to re-collect
         """);
     }
 }
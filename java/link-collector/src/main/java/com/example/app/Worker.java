@@ -0,0 +1,163 @@
+package com.example.app;
+
+import com.example.persistence.JobInfoRepository;
+import com.example.persistence.JobLinkRepository;
+import com.example.persistence.SourceSnapshotRepository;
+import com.example.scrape.BrowserPool;
+import com.example.scrape.GitHubLinkCollector;
+import com.example.scrape.ReadmeTableCollector;
+import com.example.scrape.JobInfoScraper;
+import com.example.scrape.OpenAIJobParser;
+import com.example.scrape.ParseCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-running scrape worker that replaces a cron job of one-shot commands.
+ *
+ * The browser pool, DB pool, OpenAI client and scraper (with its per-host
+ * backoff state) are set up once and reused.
+ * Two jobs run on a single scheduler thread, so they never overlap:
+ * scraping new job_links and retries that are due every poll interval, and re-collecting
+ * the configured README sources every collect interval. {@link #stop} lets the
+ * running job finish (up to the grace period) before closing the browsers.
+ */
+final class Worker {
+    private final JobLinkRepository linkRepo;
+    private final JobInfoRepository jobInfoRepo;
+    private final SourceSnapshotRepository snapshots;
+    private final OpenAIJobParser parser;
+    private final ParseCache parseCache;
+    private final boolean headless;
+    private final Options options;
+    private final ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "worker"));
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile BrowserPool browsers;
+    private volatile JobInfoScraper scraper;
+    private volatile LinkCollection collection;
+    private long scrapeRuns;
+    private long scraped;
+    private long collectRuns;
+
+    /**
+     * Worker schedule and sizing.
+     * @param batchSize links scraped per poll
+     * @param pollInterval delay between the end of one scrape and the start of the next
+     * @param collectInterval delay between README re-collections
+     * @param readmeUrls README sources to re-collect; none disables collection
+     * @param shutdownGrace how long a running job may take to finish on shutdown
+     * @param scrape scrape pipeline options
+     */
+    record Options(int batchSize, Duration pollInterval, Duration collectInterval,
+                   List<String> readmeUrls, Duration shutdownGrace, JobInfoScraper.Options scrape) {
+        Options {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Batch size must be at least 1");
+            }
+            readmeUrls = List.copyOf(readmeUrls);
+        }
+    }
+
+    Worker(JobLinkRepository linkRepo, JobInfoRepository jobInfoRepo, SourceSnapshotRepository snapshots,
+           OpenAIJobParser parser, ParseCache parseCache, boolean headless, Options options) {
+        this.linkRepo = linkRepo;
+        this.jobInfoRepo = jobInfoRepo;
+        this.snapshots = snapshots;
+        this.parser = parser;
+        this.parseCache = parseCache;
+        this.headless = headless;
+        this.options = options;
+    }
+
+    /**
+     * Start the schedule and block until {@link #stop} is called.
+     */
+    void run() throws InterruptedException {
+        browsers = new BrowserPool(headless, options.scrape().fetchConcurrency());
+        scraper = new JobInfoScraper(linkRepo, jobInfoRepo, parser, browsers, options.scrape());
+        // The raw README is parsed without a browser; the warm pool is only the fallback.
+        // One collection for the worker's life keeps its known posting keys between runs.
+        collection = new LinkCollection(new ReadmeTableCollector(new GitHubLinkCollector(browsers)),
+            linkRepo, snapshots, LinkCollection.DEFAULT_PARALLELISM);
+        System.out.printf("Worker started: %d browser(s), scraping up to %d links every %ds",
+            browsers.size(), options.batchSize(), options.pollInterval().toSeconds());
+        if (!options.readmeUrls().isEmpty()) {
+            System.out.printf(", collecting %d source(s) every %dm",
+                options.readmeUrls().size(), options.collectInterval().toMinutes());
+            scheduler.scheduleWithFixedDelay(this::collect, 0,
+                options.collectInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        System.out.println();
+
+        scheduler.scheduleWithFixedDelay(this::scrape, 0,
+            options.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        stopped.await();
+    }
+
+    /**
+     * Stop scheduling, wait for the running job, then release the browsers.
+     * Called from the shutdown hook; safe to call more than once.
+     */
+    void stop() {
+        if (stopped.getCount() == 0) {
+            return;
+        }
+        System.out.println("Worker stopping...");
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(options.shutdownGrace().toMillis(), TimeUnit.MILLISECONDS)) {
+                System.err.println("Worker: job still running after " + options.shutdownGrace().toSeconds()
+                    + "s, interrupting");
+                scheduler.shutdownNow();
+                scheduler.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (browsers != null) {
+            browsers.close();
+        }
+        parser.close();
+        System.out.printf("Worker stopped: %d scrape run(s), %d job(s) scraped, %d collect run(s)%n",
+            scrapeRuns, scraped, collectRuns);
+        if (parseCache != null) {
+            System.out.println("Parse cache: " + parseCache);
+        }
+        stopped.countDown();
+    }
+
+    private void scrape() {
+        try {
+            int count = scraper.scrapeJobs(options.batchSize());
+            scrapeRuns++;
+            scraped += count;
+            if (count > 0 && parseCache != null) {
+                parseCache.evict();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // A failed run must not cancel the schedule
+            System.err.println("Worker: scrape run failed: " + e.getMessage());
+        }
+    }
+
+    private void collect() {
+        try {
+            LinkCollection.print(collection.collect(options.readmeUrls()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // A failed run must not cancel the schedule
+            System.err.println("Worker: collect run failed: " + e.getMessage());
+        }
+        collectRuns++;
+    }
+}
@@ -1,20 +1,36 @@
 package com.example.classify;
+
+import java.util.Map;
+
 public final class HostClassifier {
     private HostClassifier() {}
+
+    // ATS domains; each also covers its subdomains (boards.greenhouse.io, jobs.lever.co, ...)
+    public static final Map<String, HostType> DOMAINS = Map.ofEntries(
+            Map.entry("ashbyhq.com", HostType.ASHBY),
+            Map.entry("greenhouse.io", HostType.GREENHOUSE),
+            Map.entry("lever.co", HostType.LEVER),
+            Map.entry("myworkdayjobs.com", HostType.WORKDAY),
+            Map.entry("workdayjobs.com", HostType.WORKDAY),
+            Map.entry("smartrecruiters.com", HostType.SMARTRECRUITERS),
+            Map.entry("breezy.hr", HostType.BREEZY),
+            Map.entry("jobvite.com", HostType.JOBVITE),
+            Map.entry("icims.com", HostType.ICIMS),
+            Map.entry("eightfold.ai", HostType.EIGHTFOLD),
+            Map.entry("workable.com", HostType.WORKABLE),
+            Map.entry("wellfound.com", HostType.WELLFOUND),
+            Map.entry("angel.co", HostType.WELLFOUND));
+
+    private static final HostMatcher<HostType> HOSTS = compile();
+
     public static HostType classify(String hostRaw) {
-        if (hostRaw == null) return HostType.OTHER;
-        String h = hostRaw.toLowerCase();
-        if (h.contains("ashbyhq.com")) return HostType.ASHBY;
-        if (h.contains("boards.greenhouse.io") || h.contains("greenhouse.io")) return HostType.GREENHOUSE;
-        if (h.contains("lever.co")) return HostType.LEVER;
-        if (h.contains("myworkdayjobs.com") || h.contains("workdayjobs.com")) return HostType.WORKDAY;
-        if (h.contains("smartrecruiters.com")) return HostType.SMARTRECRUITERS;
-        if (h.contains("breezy.hr")) return HostType.BREEZY;
-        if (h.contains("jobvite.com")) return HostType.JOBVITE;
-        if (h.contains("icims.com")) return HostType.ICIMS;
-        if (h.contains("eightfold.ai")) return HostType.EIGHTFOLD;
-        if (h.contains("workable.com")) return HostType.WORKABLE;
-        if (h.contains("wellfound.com") || h.contains("angel.co")) return HostType.WELLFOUND;
-        return HostType.OTHER;
+        HostType type = HOSTS.match(hostRaw);
+        return type == null ? HostType.OTHER : type;
+    }
+
+    private static HostMatcher<HostType> compile() {
+        HostMatcher.Builder<HostType> builder = HostMatcher.builder();
+        DOMAINS.forEach(builder::add);
+        return builder.build();
     }
 }
@@ -0,0 +1,136 @@
+package com.example.classify;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Maps host names to values by domain suffix, matching whole labels only.
+ *
+ * Suffixes are stored in a trie over their characters in reverse, so a lookup
+ * walks the host once from its last character and remembers the value of the
+ * longest suffix that ends on a label boundary. "jobs.lever.co" matches
+ * "lever.co", but "clever.com" and "lever.co.evil.com" don't, as they would
+ * with a substring check. Lookups are case-insensitive and allocate nothing.
+ *
+ * Instances are immutable once built and safe to share between threads.
+ *
+ * @param <V> value attached to each suffix
+ */
+public final class HostMatcher<V> {
+    private final Node<V> root;
+
+    private HostMatcher(Node<V> root) {
+        this.root = root;
+    }
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Value of the longest registered suffix of host, or null if none matches.
+     */
+    public V match(String host) {
+        if (host == null) {
+            return null;
+        }
+        int end = host.length();
+        if (end > 0 && host.charAt(end - 1) == '.') {
+            end--; // fully qualified name
+        }
+
+        V found = null;
+        Node<V> node = root;
+        for (int i = end - 1; i >= 0; i--) {
+            node = node.child(Character.toLowerCase(host.charAt(i)));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null && (i == 0 || host.charAt(i - 1) == '.')) {
+                found = node.value;
+            }
+        }
+        return found;
+    }
+
+    public boolean matches(String host) {
+        return match(host) != null;
+    }
+
+    public static final class Builder<V> {
+        private final Node<V> root = new Node<>();
+
+        private Builder() {}
+
+        /**
+         * Register a domain; it matches itself and every subdomain.
+         * A later registration of the same domain replaces the earlier one.
+         */
+        public Builder<V> add(String domain, V value) {
+            if (domain == null || domain.isBlank() || value == null) {
+                throw new IllegalArgumentException("Invalid host suffix: " + domain);
+            }
+            String d = domain.toLowerCase(Locale.ROOT);
+            Node<V> node = root;
+            for (int i = d.length() - 1; i >= 0; i--) {
+                node = node.childOrCreate(d.charAt(i));
+            }
+            node.value = value;
+            return this;
+        }
+
+        public HostMatcher<V> build() {
+            return new HostMatcher<>(root.copy());
+        }
+    }
+
+    /**
+     * Trie node; children are kept in parallel arrays, since fan-out is small.
+     */
+    private static final class Node<V> {
+        char[] keys = new char[0];
+        Node<V>[] children = newArray(0);
+        V value;
+
+        Node<V> child(char c) {
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node<V> childOrCreate(char c) {
+            Node<V> child = child(c);
+            if (child == null) {
+                child = new Node<>();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = c;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+
+        /**
+         * Deep copy, so a builder reused after build() can't change a built matcher.
+         */
+        Node<V> copy() {
+            Node<V> copy = new Node<>();
+            copy.keys = keys.clone();
+            copy.children = newArray(children.length);
+            for (int i = 0; i < children.length; i++) {
+                copy.children[i] = children[i].copy();
+            }
+            copy.value = value;
+            return copy;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> Node<V>[] newArray(int size) {
+            return (Node<V>[]) new Node<?>[size];
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.classify;
+
+/**
+ * Politeness limits for fetching from one host.
+ *
+ * @param requestsPerSecond sustained request rate per host
+ * @param burst requests a quiet host may receive back to back
+ * @param maxInFlight concurrent requests per host
+ * @param typeRequestsPerSecond combined rate across every host of this type,
+ *        for multi-tenant ATSs whose tenants share infrastructure; 0 for no shared limit
+ */
+public record HostPolicy(double requestsPerSecond, int burst, int maxInFlight, double typeRequestsPerSecond) {
+    public static final HostPolicy DEFAULT = new HostPolicy(1.0, 2, 2, 0);
+
+    public HostPolicy {
+        if (requestsPerSecond <= 0 || burst < 1 || maxInFlight < 1 || typeRequestsPerSecond < 0) {
+            throw new IllegalArgumentException("Invalid host policy");
+        }
+    }
+
+    /**
+     * Per-host overrides, keyed like {@link HostClassifier}.
+     * Large static boards tolerate more; Workday and iCIMS tenants throttle
+     * early and share rate limits across tenants, so they are also capped per type.
+     */
+    public static HostPolicy forHostType(HostType type) {
+        return switch (type) {
+            case GREENHOUSE, LEVER, ASHBY -> new HostPolicy(2.0, 4, 2, 0);
+            case WORKDAY -> new HostPolicy(0.5, 1, 1, 2.0);
+            case ICIMS -> new HostPolicy(0.5, 1, 1, 1.0);
+            case EIGHTFOLD, WELLFOUND -> new HostPolicy(0.5, 1, 1, 0);
+            default -> DEFAULT;
+        };
+    }
+}
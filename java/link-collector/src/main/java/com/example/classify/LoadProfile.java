@@ -0,0 +1,50 @@
+package com.example.classify;
+
+import java.net.URI;
+import java.util.Set;
+
+/**
+ * How much of a job page the browser loads, and what it waits for before reading it.
+ *
+ * Images, media and fonts never contribute text, so they are aborted by default.
+ * Instead of waiting for network idle (which analytics beacons can hold off
+ * until the navigation timeout) the scraper waits for readySelector to appear,
+ * up to readyTimeoutMs, and then reads whatever has rendered.
+ *
+ * @param blockedResourceTypes Playwright resource types to abort
+ * @param readySelector CSS selector that marks the posting as rendered
+ * @param readyTimeoutMs how long to wait for readySelector
+ */
+public record LoadProfile(Set<String> blockedResourceTypes, String readySelector, int readyTimeoutMs) {
+    private static final Set<String> MEDIA = Set.of("image", "media", "font");
+
+    private static final String GENERIC_CONTENT =
+        "main, [role='main'], article, .job-description, .job-details, .posting, #content";
+
+    public static final LoadProfile DEFAULT = new LoadProfile(MEDIA, GENERIC_CONTENT, 10_000);
+
+    /**
+     * Per-host overrides, keyed like {@link HostClassifier}.
+     * Client-rendered ATSs get their own description selector and a longer wait.
+     */
+    public static LoadProfile forHostType(HostType type) {
+        return switch (type) {
+            case GREENHOUSE -> new LoadProfile(MEDIA, "#content, .job__description, #app_body", 8_000);
+            case LEVER -> new LoadProfile(MEDIA, ".posting-page, .section-wrapper", 8_000);
+            case ASHBY -> new LoadProfile(MEDIA, "[class*='_descriptionText'], main", 12_000);
+            case WORKDAY -> new LoadProfile(MEDIA, "[data-automation-id='jobPostingDescription']", 15_000);
+            case ICIMS -> new LoadProfile(MEDIA, ".iCIMS_JobContent, #icims_content_iframe", 15_000);
+            case SMARTRECRUITERS -> new LoadProfile(MEDIA, ".job-sections, main", 10_000);
+            case EIGHTFOLD -> new LoadProfile(MEDIA, ".position-job-description, .job-description", 15_000);
+            default -> DEFAULT;
+        };
+    }
+
+    public static LoadProfile forUrl(String url) {
+        try {
+            return forHostType(HostClassifier.classify(URI.create(url).getHost()));
+        } catch (IllegalArgumentException e) {
+            return DEFAULT;
+        }
+    }
+}
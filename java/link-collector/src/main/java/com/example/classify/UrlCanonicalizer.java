@@ -0,0 +1,236 @@
+package com.example.classify;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * One canonical form per job posting URL, plus a stable key for the posting itself.
+ *
+ * Every URL gets a lower-case host without a trailing dot or default port,
+ * no tracking parameters, query parameters in sorted order and no trailing
+ * slash. ATS links are then reduced per {@link HostType} to the parts that
+ * identify the posting: a Greenhouse board and job id, a Lever or Ashby
+ * company and posting id, a Workday tenant, site and requisition (without the
+ * locale segment or the location, which differ between lists), and so on.
+ * Those become the posting key, e.g. "greenhouse:acme:4012345", and the
+ * canonical URL is rebuilt from them.
+ *
+ * Links we don't recognize keep their own canonical URL as the key, so two
+ * of them only match when their URLs do.
+ */
+public final class UrlCanonicalizer {
+    private UrlCanonicalizer() {}
+
+    /**
+     * @param url canonical form of the link
+     * @param hostType ATS the link belongs to
+     * @param postingKey identity of the posting; equal keys mean the same posting
+     */
+    public record Canonical(String url, HostType hostType, String postingKey) {}
+
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "gh_src", "lever-source", "lever-origin", "lever-via", "fbclid", "gclid", "msclkid",
+            "mc_cid", "mc_eid", "_hsenc", "_hsmi");
+
+    // referral params we drop only when they name the list we collected from
+    private static final Set<String> REFERRAL_PARAMS = Set.of("ref", "source", "src", "referrer");
+
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final Pattern POSTING_ID = Pattern.compile("[0-9a-fA-F-]{8,}");
+    private static final Pattern LOCALE = Pattern.compile("[a-z]{2}(-[A-Za-z]{2})?");
+    private static final Pattern LEADING_DIGITS = Pattern.compile("(\\d+).*");
+
+    public static Canonical canonicalize(String href) {
+        URI uri;
+        try {
+            uri = new URI(href.strip());
+        } catch (URISyntaxException | NullPointerException e) {
+            return new Canonical(href, HostType.OTHER, href);
+        }
+        String scheme = uri.getScheme() == null ? null : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (uri.getHost() == null || !("http".equals(scheme) || "https".equals(scheme))) {
+            return new Canonical(href, HostType.OTHER, href);
+        }
+
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        if (host.endsWith(".")) {
+            host = host.substring(0, host.length() - 1);
+        }
+        int port = uri.getPort();
+        if (port == 80 && "http".equals(scheme) || port == 443 && "https".equals(scheme)) {
+            port = -1;
+        }
+
+        Parts parts = new Parts(scheme, host, port, segments(uri.getRawPath()), queryParams(uri.getRawQuery()),
+                uri.getRawFragment());
+        HostType type = HostClassifier.classify(host);
+        String key = type == HostType.OTHER ? null : postingKey(type, parts);
+        if (key == null) {
+            // Hash routes are all that tells postings apart on some single-page career sites
+            if (parts.fragment != null && !parts.fragment.startsWith("/") && !parts.fragment.startsWith("!")) {
+                parts.fragment = null;
+            }
+            String url = parts.toUrl();
+            return new Canonical(url, type, url);
+        }
+
+        parts.scheme = "https";
+        parts.fragment = null;
+        return new Canonical(parts.toUrl(), type, key);
+    }
+
+    /**
+     * Key for an ATS posting, reducing parts to the posting's own URL; null if
+     * the path isn't a posting we know how to read.
+     */
+    private static String postingKey(HostType type, Parts p) {
+        List<String> s = p.segments;
+        return switch (type) {
+            case GREENHOUSE -> {
+                // embed/job_app?for=<board>&token=<id> and <board>/jobs/<id>
+                String board = p.param("for");
+                String id = p.param("token");
+                if (board == null || id == null || !DIGITS.matcher(id).matches()) {
+                    if (s.size() < 3 || !s.get(1).equals("jobs") || !DIGITS.matcher(s.get(2)).matches()) yield null;
+                    board = s.get(0);
+                    id = s.get(2);
+                }
+                p.segments = List.of(board, "jobs", id);
+                p.params.clear();
+                yield key("greenhouse", board, id);
+            }
+            case LEVER, ASHBY -> {
+                // <company>/<posting id>, optionally /apply or /application
+                if (s.size() < 2 || !POSTING_ID.matcher(s.get(1)).matches()) yield null;
+                p.segments = List.of(s.get(0), s.get(1));
+                p.params.clear();
+                yield key(type == HostType.LEVER ? "lever" : "ashby", s.get(0), s.get(1));
+            }
+            case WORKDAY -> {
+                // [locale/]<site>/job/<location>/<title>_<requisition>, or .../details/<title>_<requisition>
+                List<String> rest = s.size() > 1 && LOCALE.matcher(s.get(0)).matches() ? s.subList(1, s.size()) : s;
+                if (rest.size() < 3 || !(rest.get(1).equals("job") || rest.get(1).equals("details"))) yield null;
+                String last = rest.get(rest.size() - 1);
+                String requisition = last.substring(last.lastIndexOf('_') + 1);
+                String tenant = p.host.substring(0, p.host.indexOf('.') < 0 ? p.host.length() : p.host.indexOf('.'));
+                p.segments = List.copyOf(rest);
+                p.params.clear();
+                yield key("workday", tenant, rest.get(0), requisition);
+            }
+            case SMARTRECRUITERS -> {
+                // <company>/<id>-<title slug>
+                var id = s.size() < 2 ? null : LEADING_DIGITS.matcher(s.get(1));
+                if (id == null || !id.matches()) yield null;
+                p.segments = List.of(s.get(0), s.get(1));
+                p.params.clear();
+                yield key("smartrecruiters", s.get(0), id.group(1));
+            }
+            case ICIMS -> {
+                // jobs/<id>/<title slug>/job
+                if (s.size() < 2 || !s.get(0).equals("jobs") || !DIGITS.matcher(s.get(1)).matches()) yield null;
+                p.params.clear();
+                yield key("icims", p.host, s.get(1));
+            }
+            case WORKABLE -> {
+                // <company>/j/<code>
+                if (s.size() < 3 || !s.get(1).equals("j")) yield null;
+                p.segments = List.of(s.get(0), "j", s.get(2));
+                p.params.clear();
+                yield key("workable", s.get(0), s.get(2));
+            }
+            default -> null;
+        };
+    }
+
+    private static String key(String... parts) {
+        return String.join(":", parts).toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> segments(String rawPath) {
+        if (rawPath == null || rawPath.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> segments = new ArrayList<>(Arrays.asList(rawPath.split("/")));
+        segments.removeIf(String::isEmpty); // leading, doubled and trailing slashes
+        return segments;
+    }
+
+    private static List<String[]> queryParams(String rawQuery) {
+        List<String[]> params = new ArrayList<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) continue;
+            String[] kv = pair.split("=", 2);
+            String name = kv[0].toLowerCase(Locale.ROOT);
+            String value = kv.length == 2 ? kv[1] : "";
+            if (name.startsWith("utm_") || TRACKING_PARAMS.contains(name)) continue;
+            if (REFERRAL_PARAMS.contains(name)) {
+                String v = value.toLowerCase(Locale.ROOT);
+                if (v.contains("simplify") || v.contains("github")) continue;
+            }
+            params.add(new String[] {kv[0], value});
+        }
+        params.sort(Comparator.<String[], String>comparing(kv -> kv[0]).thenComparing(kv -> kv[1]));
+        return params;
+    }
+
+    /**
+     * Mutable URL components while a rule rewrites them.
+     */
+    private static final class Parts {
+        String scheme;
+        final String host;
+        final int port;
+        List<String> segments;
+        final List<String[]> params;
+        String fragment;
+
+        Parts(String scheme, String host, int port, List<String> segments, List<String[]> params, String fragment) {
+            this.scheme = scheme;
+            this.host = host;
+            this.port = port;
+            this.segments = segments;
+            this.params = params;
+            this.fragment = fragment;
+        }
+
+        String param(String name) {
+            for (String[] kv : params) {
+                if (kv[0].equalsIgnoreCase(name)) return kv[1];
+            }
+            return null;
+        }
+
+        String toUrl() {
+            StringBuilder sb = new StringBuilder(scheme).append("://").append(host);
+            if (port >= 0) {
+                sb.append(':').append(port);
+            }
+            for (String segment : segments) {
+                sb.append('/').append(segment);
+            }
+            if (segments.isEmpty()) {
+                sb.append('/');
+            }
+            for (int i = 0; i < params.size(); i++) {
+                sb.append(i == 0 ? '?' : '&').append(params.get(i)[0]);
+                if (!params.get(i)[1].isEmpty()) {
+                    sb.append('=').append(params.get(i)[1]);
+                }
+            }
+            if (fragment != null && !fragment.isEmpty()) {
+                sb.append('#').append(fragment);
+            }
+            return sb.toString();
+        }
+    }
+}
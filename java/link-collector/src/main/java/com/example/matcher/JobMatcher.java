@@ -13,6 +13,20 @@ import java.util.stream.Collectors;
  * Matches users to jobs based on skill overlap and requirements.
  */
 public final class JobMatcher {
+    /**
+     * Common skill aliases mapped to one canonical name, resolved once.
+     */
+    private static final Map<String, String> CANONICAL_SKILLS = Map.of(
+        "js", "javascript",
+        "ts", "typescript",
+        "k8s", "kubernetes",
+        "postgres", "postgresql",
+        "react", "react.js",
+        "reactjs", "react.js",
+        "node", "node.js",
+        "nodejs", "node.js"
+    );
+
     private final ObjectMapper objectMapper;
 
     public JobMatcher() {
@@ -51,6 +65,61 @@ public final class JobMatcher {
         return matches;
     }
 
+    /**
+     * The best matches for a user, plus how many jobs matched in total.
+     */
+    public record TopMatches(int total, List<JobMatch> matches) {}
+
+    /**
+     * Match a user against the jobs in a skill index.
+     * Only jobs sharing at least one skill with the user are scored.
+     *
+     * @param user the user with parsed resume skills
+     * @param index the skill index to look up candidate jobs in
+     * @return sorted list of job matches (best matches first)
+     */
+    public List<JobMatch> matchJobs(User user, SkillIndex index) throws Exception {
+        return matchTopK(user, index, Integer.MAX_VALUE).matches();
+    }
+
+    /**
+     * Match a user against the jobs in a skill index, keeping only the k best.
+     * Scores are ranked before any JobMatch is built, so explanations are only
+     * generated for the matches that are returned.
+     *
+     * @param user the user with parsed resume skills
+     * @param index the skill index to look up candidate jobs in
+     * @param k maximum number of matches to return
+     * @return the k best matches (best first) and the total number of matching jobs
+     */
+    public TopMatches matchTopK(User user, SkillIndex index, int k) throws Exception {
+        if (user.skills() == null || user.skills().trim().isEmpty()) {
+            throw new IllegalArgumentException("User has no skills parsed. Please parse resume first.");
+        }
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1");
+        }
+
+        Set<String> userSkills = parseSkillsToSet(user.skills());
+        System.out.println("User skills: " + userSkills);
+
+        SkillIndex.TopHits top = index.lookup(userSkills, k);
+        List<JobMatch> matches = new ArrayList<>(top.hits().size());
+        for (SkillIndex.Hit hit : top.hits()) {
+            int total = hit.matched().size() + hit.missing().size();
+            double score = (hit.matched().size() * 100.0) / total;
+            matches.add(new JobMatch(
+                hit.job(),
+                score,
+                hit.matched(),
+                hit.missing(),
+                generateExplanation(hit.matched(), hit.missing())
+            ));
+        }
+
+        return new TopMatches(top.total(), matches);
+    }
+
     /**
      * Calculate match score between user skills and job requirements.
      */
@@ -92,9 +161,9 @@ public final class JobMatcher {
     /**
      * Check if two skills match (case-insensitive, handles variations).
      */
-    private boolean skillsMatch(String userSkill, String jobRequirement) {
-        String u = userSkill.toLowerCase().trim();
-        String j = jobRequirement.toLowerCase().trim();
+    static boolean skillsMatch(String userSkill, String jobRequirement) {
+        String u = normalize(userSkill);
+        String j = normalize(jobRequirement);
 
         // Exact match
         if (u.equals(j)) return true;
@@ -103,29 +172,21 @@ public final class JobMatcher {
         if (u.contains(j) || j.contains(u)) return true;
 
         // Handle common variations
-        Map<String, Set<String>> synonyms = Map.of(
-            "js", Set.of("javascript"),
-            "ts", Set.of("typescript"),
-            "k8s", Set.of("kubernetes"),
-            "postgres", Set.of("postgresql"),
-            "react.js", Set.of("react", "reactjs"),
-            "node.js", Set.of("node", "nodejs")
-        );
+        return canonical(u).equals(canonical(j));
+    }
 
-        for (Map.Entry<String, Set<String>> entry : synonyms.entrySet()) {
-            if ((u.equals(entry.getKey()) && entry.getValue().contains(j)) ||
-                (j.equals(entry.getKey()) && entry.getValue().contains(u))) {
-                return true;
-            }
-        }
+    static String normalize(String skill) {
+        return skill.toLowerCase().trim();
+    }
 
-        return false;
+    static String canonical(String normalizedSkill) {
+        return CANONICAL_SKILLS.getOrDefault(normalizedSkill, normalizedSkill);
     }
 
     /**
      * Generate human-readable explanation for the match.
      */
-    private String generateExplanation(Set<String> matched, Set<String> missing) {
+    private String generateExplanation(Collection<String> matched, Collection<String> missing) {
         StringBuilder sb = new StringBuilder();
 
         if (!matched.isEmpty()) {
@@ -0,0 +1,398 @@
+package com.example.matcher;
+
+import com.example.model.JobInfo;
+import com.example.model.JobInfoQuery;
+import com.example.persistence.JobInfoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from job requirements to jobs.
+ *
+ * Every distinct (lowercased) requirement becomes a term with a posting list
+ * of the jobs that ask for it, and requirements JSON is parsed once when a row
+ * is indexed instead of on every match request. A lookup resolves each user
+ * skill against the term vocabulary once, with the same rules as
+ * {@link JobMatcher#skillsMatch}, and then only visits jobs on the matching
+ * posting lists, so its cost grows with the vocabulary rather than the jobs.
+ *
+ * The index is kept current by {@link #refresh}, which loads the job_info rows
+ * scraped since the newest one seen so far, without their descriptions. Every
+ * write sets scraped_at, so rows re-scraped in place are picked up as well as
+ * new ones. A newer row for the same job link replaces the older one; the old
+ * entry is tombstoned, and the index is compacted in memory once tombstones
+ * outnumber live jobs.
+ */
+public final class SkillIndex {
+    /**
+     * Fields loaded for indexed jobs; matches are shown without the description.
+     */
+    public static final Set<String> FIELDS = JobInfoQuery.LIST_FIELDS;
+
+    // scraped_at is stamped when a page is parsed, so a batch can commit after
+    // a newer row was read; rows this far behind the newest one are read again
+    static final Duration REFRESH_OVERLAP = Duration.ofMinutes(15);
+    static final int MIN_COMPACT_TOMBSTONES = 1_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Vocabulary: normalized requirement text -> term id
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    // Canonical skill name -> ids of the terms sharing it, for alias lookups
+    private final Map<String, IntList> termsByCanonical = new HashMap<>();
+    private final List<IntList> postings = new ArrayList<>();
+
+    // Indexed jobs, addressed by slot
+    private final List<JobInfo> jobs = new ArrayList<>();
+    private final List<String[]> requirements = new ArrayList<>();
+    private final List<int[]> requirementTerms = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Map<Integer, Integer> slotByJobLinkId = new HashMap<>();
+
+    private Instant watermark;
+
+    /**
+     * A job sharing at least one skill with the user, split into matched and missing requirements.
+     */
+    record Hit(JobInfo job, List<String> matched, List<String> missing) {}
+
+    /**
+     * The best hits of a lookup, plus how many jobs matched in total.
+     */
+    record TopHits(int total, List<Hit> hits) {}
+
+    /**
+     * Bring the index up to date with the job_info table.
+     * Loads every row the first time, and after that only rows scraped since the last refresh.
+     */
+    public synchronized void refresh(JobInfoRepository repository) throws Exception {
+        boolean full = watermark == null;
+        Instant since = full ? Instant.EPOCH : watermark.minus(REFRESH_OVERLAP);
+        List<JobInfo> rows = repository.findScrapedSince(since, FIELDS);
+        if (!full && rows.isEmpty()) {
+            return;
+        }
+        load(rows, full);
+    }
+
+    /**
+     * Add rows to the index, oldest first, optionally replacing its contents.
+     */
+    void load(Collection<JobInfo> rows, boolean replace) {
+        lock.writeLock().lock();
+        try {
+            if (replace) {
+                clear();
+                watermark = Instant.EPOCH;
+            }
+            for (JobInfo row : rows) {
+                if (row.scrapedAt() != null && row.scrapedAt().isAfter(watermark)) {
+                    watermark = row.scrapedAt();
+                }
+                add(row);
+            }
+
+            int tombstones = jobs.size() - live.cardinality();
+            if (tombstones >= MIN_COMPACT_TOMBSTONES && tombstones > live.cardinality()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of live jobs in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the k best jobs for the given skills.
+     *
+     * Matched requirement counts are accumulated from the posting lists into a
+     * primitive array, and a bounded heap of slots keeps the k best scores, so
+     * matched/missing lists are only built for the jobs that are returned.
+     * Hits come back best first; equal scores keep the newer job first.
+     */
+    TopHits lookup(Collection<String> userSkills, int k) {
+        lock.readLock().lock();
+        try {
+            BitSet matchedTerms = matchTerms(userSkills);
+
+            int[] matchedCounts = new int[jobs.size()];
+            BitSet touched = new BitSet(jobs.size());
+            for (int term = matchedTerms.nextSetBit(0); term >= 0; term = matchedTerms.nextSetBit(term + 1)) {
+                IntList slots = postings.get(term);
+                for (int i = 0; i < slots.size; i++) {
+                    matchedCounts[slots.values[i]]++;
+                    touched.set(slots.values[i]);
+                }
+            }
+            touched.and(live);
+
+            int total = touched.cardinality();
+            SlotHeap heap = new SlotHeap(Math.min(k, total), matchedCounts);
+            for (int slot = touched.previousSetBit(jobs.size() - 1); slot >= 0; slot = touched.previousSetBit(slot - 1)) {
+                if (heap.isFull() && heap.worstIsPerfect()) {
+                    break; // Older jobs can at best tie, and ties go to newer jobs
+                }
+                heap.offer(slot);
+            }
+
+            int[] best = heap.drainBestFirst();
+            List<Hit> hits = new ArrayList<>(best.length);
+            for (int slot : best) {
+                hits.add(hit(slot, matchedTerms));
+            }
+            return new TopHits(total, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resolve user skills to the set of vocabulary terms they match.
+     * Exact and alias matches are a hash probe on the canonical name; only
+     * substring matches ("java" in "java 17") need a scan of the vocabulary.
+     */
+    private BitSet matchTerms(Collection<String> userSkills) {
+        BitSet matched = new BitSet(terms.size());
+        for (String userSkill : userSkills) {
+            String skill = JobMatcher.normalize(userSkill);
+            IntList aliases = termsByCanonical.get(JobMatcher.canonical(skill));
+            if (aliases != null) {
+                for (int i = 0; i < aliases.size; i++) {
+                    matched.set(aliases.values[i]);
+                }
+            }
+
+            for (int term = matched.nextClearBit(0); term < terms.size(); term = matched.nextClearBit(term + 1)) {
+                String requirement = terms.get(term);
+                if (skill.contains(requirement) || requirement.contains(skill)) {
+                    matched.set(term);
+                }
+            }
+        }
+        return matched;
+    }
+
+    private Hit hit(int slot, BitSet matchedTerms) {
+        String[] reqs = requirements.get(slot);
+        int[] reqTerms = requirementTerms.get(slot);
+
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < reqs.length; i++) {
+            (matchedTerms.get(reqTerms[i]) ? matched : missing).add(reqs[i]);
+        }
+        return new Hit(jobs.get(slot), matched, missing);
+    }
+
+    private void add(JobInfo job) {
+        Integer key = job.jobLinkId() != null ? job.jobLinkId() : -job.id();
+        Integer previous = slotByJobLinkId.get(key);
+        if (previous != null) {
+            JobInfo indexed = jobs.get(previous);
+            if (indexed.id().equals(job.id()) && Objects.equals(indexed.scrapedAt(), job.scrapedAt())) {
+                return; // Read again within the refresh overlap, unchanged
+            }
+            slotByJobLinkId.remove(key);
+            live.clear(previous);
+        }
+
+        if (job.requirements() == null || job.requirements().trim().isEmpty()) {
+            return; // Jobs without requirements are never matched
+        }
+
+        String[] reqs;
+        try {
+            reqs = parseRequirements(job.requirements());
+        } catch (Exception e) {
+            System.err.println("Skipping job_info " + job.id() + " in skill index: " + e.getMessage());
+            return;
+        }
+
+        int slot = jobs.size();
+        int[] reqTerms = new int[reqs.length];
+        for (int i = 0; i < reqs.length; i++) {
+            int term = termId(JobMatcher.normalize(reqs[i]));
+            reqTerms[i] = term;
+            postings.get(term).add(slot);
+        }
+
+        jobs.add(job);
+        requirements.add(reqs);
+        requirementTerms.add(reqTerms);
+        live.set(slot);
+        slotByJobLinkId.put(key, slot);
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            id = terms.size();
+            termIds.put(term, id);
+            terms.add(term);
+            postings.add(new IntList());
+            termsByCanonical.computeIfAbsent(JobMatcher.canonical(term), k -> new IntList()).add(id);
+        }
+        return id;
+    }
+
+    private String[] parseRequirements(String jsonArrayString) throws Exception {
+        JsonNode array = objectMapper.readTree(jsonArrayString);
+        Set<String> skills = new LinkedHashSet<>();
+
+        if (array.isArray()) {
+            for (JsonNode node : array) {
+                String skill = node.asText().trim();
+                if (!skill.isEmpty()) {
+                    skills.add(skill);
+                }
+            }
+        }
+
+        return skills.toArray(String[]::new);
+    }
+
+    /**
+     * Rebuild the index from its live jobs, dropping tombstoned slots and unused terms.
+     * Slot order, and so newest-first tie breaking, is kept.
+     */
+    private void compact() {
+        List<JobInfo> current = new ArrayList<>(live.cardinality());
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            current.add(jobs.get(slot));
+        }
+        clear();
+        current.forEach(this::add);
+    }
+
+    private void clear() {
+        termIds.clear();
+        terms.clear();
+        termsByCanonical.clear();
+        postings.clear();
+        jobs.clear();
+        requirements.clear();
+        requirementTerms.clear();
+        live.clear();
+        slotByJobLinkId.clear();
+    }
+
+    /**
+     * Fixed-capacity min-heap of slots ordered by match score, worst at the root.
+     */
+    private final class SlotHeap {
+        private final int[] slots;
+        private final int[] matchedCounts;
+        private int size;
+
+        SlotHeap(int capacity, int[] matchedCounts) {
+            this.slots = new int[capacity];
+            this.matchedCounts = matchedCounts;
+        }
+
+        boolean isFull() {
+            return size == slots.length;
+        }
+
+        boolean worstIsPerfect() {
+            return size > 0 && matchedCounts[slots[0]] == requirements.get(slots[0]).length;
+        }
+
+        void offer(int slot) {
+            if (slots.length == 0) {
+                return;
+            }
+            if (!isFull()) {
+                slots[size] = slot;
+                siftUp(size++);
+            } else if (better(slot, slots[0])) {
+                slots[0] = slot;
+                siftDown(0);
+            }
+        }
+
+        int[] drainBestFirst() {
+            int[] ordered = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                ordered[i] = slots[0];
+                slots[0] = slots[--size];
+                siftDown(0);
+            }
+            return ordered;
+        }
+
+        private double score(int slot) {
+            return (double) matchedCounts[slot] / requirements.get(slot).length;
+        }
+
+        private boolean better(int a, int b) {
+            int cmp = Double.compare(score(a), score(b));
+            return cmp > 0 || (cmp == 0 && a > b);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!better(slots[parent], slots[i])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int worst = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && better(slots[worst], slots[left])) worst = left;
+                if (right < size && better(slots[worst], slots[right])) worst = right;
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int tmp = slots[i];
+            slots[i] = slots[j];
+            slots[j] = tmp;
+        }
+    }
+
+    /**
+     * Growable int array, so posting lists don't box every slot.
+     */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -20,7 +20,7 @@ public record JobInfo(
     String postedDate,
     String applicationUrl,
     Instant scrapedAt,
-    boolean scrapeSuccess
+    Boolean scrapeSuccess  // null when a projection leaves it out
 ) {
     /**
      * Builder for creating JobInfo instances
@@ -39,7 +39,7 @@ public record JobInfo(
         private String postedDate;
         private String applicationUrl;
         private Instant scrapedAt;
-        private boolean scrapeSuccess = true;
+        private Boolean scrapeSuccess = true;
 
         public Builder id(Integer id) {
             this.id = id;
@@ -106,12 +106,15 @@ public record JobInfo(
             return this;
         }
 
-        public Builder scrapeSuccess(boolean scrapeSuccess) {
+        public Builder scrapeSuccess(Boolean scrapeSuccess) {
             this.scrapeSuccess = scrapeSuccess;
             return this;
         }
 
         public JobInfo build() {
+            if (scrapeSuccess == null) {
+                throw new IllegalArgumentException("scrapeSuccess must not be null");
+            }
             if (scrapedAt == null) {
                 scrapedAt = Instant.now();
             }
@@ -124,4 +127,25 @@ public record JobInfo(
     public static Builder builder() {
         return new Builder();
     }
+
+    /**
+     * Builder pre-filled with this record's values.
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .id(id)
+            .jobLinkId(jobLinkId)
+            .title(title)
+            .company(company)
+            .location(location)
+            .remoteType(remoteType)
+            .salary(salary)
+            .description(description)
+            .requirements(requirements)
+            .jobType(jobType)
+            .postedDate(postedDate)
+            .applicationUrl(applicationUrl)
+            .scrapedAt(scrapedAt)
+            .scrapeSuccess(scrapeSuccess);
+    }
 }
@@ -0,0 +1,12 @@
+package com.example.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated job listing.
+ * nextCursor is null when there are no more rows.
+ */
+public record JobInfoPage(
+    List<JobInfo> jobs,
+    String nextCursor
+) {}
@@ -0,0 +1,122 @@
+package com.example.model;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Filters, projection and cursor for a paginated job_info listing.
+ * Jobs are ordered newest first by (scraped_at, id), or by relevance when
+ * text is set; cursor is the opaque nextCursor of the previous page, or null
+ * for the first page.
+ */
+public record JobInfoQuery(
+    String remoteType,
+    String jobType,
+    String company,     // case-insensitive exact match
+    String location,    // case-insensitive substring match
+    String text,        // full-text search terms; switches to relevance order
+    Set<String> fields, // JobInfo component names to load; null for all
+    String cursor,
+    int limit
+) {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * JobInfo fields that can be requested in a projection.
+     */
+    public static final List<String> FIELDS = List.of(
+        "id", "jobLinkId", "title", "company", "location", "remoteType", "salary",
+        "description", "requirements", "jobType", "postedDate", "applicationUrl",
+        "scrapedAt", "scrapeSuccess"
+    );
+
+    /**
+     * Fields returned by list views unless a projection is requested (everything but description).
+     */
+    public static final Set<String> LIST_FIELDS = Set.of(
+        "id", "jobLinkId", "title", "company", "location", "remoteType", "salary",
+        "requirements", "jobType", "postedDate", "applicationUrl", "scrapedAt", "scrapeSuccess"
+    );
+
+    public JobInfoQuery {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (fields != null) {
+            for (String field : fields) {
+                if (!FIELDS.contains(field)) {
+                    throw new IllegalArgumentException("Unknown field: " + field);
+                }
+            }
+            fields = Set.copyOf(fields);
+        }
+    }
+
+    /**
+     * Builder for creating JobInfoQuery instances
+     */
+    public static class Builder {
+        private String remoteType;
+        private String jobType;
+        private String company;
+        private String location;
+        private String text;
+        private Set<String> fields;
+        private String cursor;
+        private int limit = DEFAULT_LIMIT;
+
+        public Builder remoteType(String remoteType) {
+            this.remoteType = remoteType;
+            return this;
+        }
+
+        public Builder jobType(String jobType) {
+            this.jobType = jobType;
+            return this;
+        }
+
+        public Builder company(String company) {
+            this.company = company;
+            return this;
+        }
+
+        public Builder location(String location) {
+            this.location = location;
+            return this;
+        }
+
+        public Builder text(String text) {
+            this.text = text;
+            return this;
+        }
+
+        public Builder fields(Set<String> fields) {
+            this.fields = fields;
+            return this;
+        }
+
+        public Builder cursor(String cursor) {
+            this.cursor = cursor;
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public JobInfoQuery build() {
+            return new JobInfoQuery(blankToNull(remoteType), blankToNull(jobType), blankToNull(company),
+                                    blankToNull(location), blankToNull(text), fields, blankToNull(cursor), limit);
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+}
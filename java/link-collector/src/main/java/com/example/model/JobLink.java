@@ -1,3 +1,3 @@
 package com.example.model;
 import java.time.Instant;
-public record JobLink(String url, String hostType, String source, Instant discoveredAt) {}
\ No newline at end of file
+public record JobLink(String url, String hostType, String source, Instant discoveredAt, String postingKey) {}
@@ -0,0 +1,59 @@
+package com.example.model;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Why a scrape failed, stored in job_links.error_class.
+ * Each class allows a number of attempts before the link is given up on;
+ * classes that allow one attempt are never retried.
+ */
+public enum ScrapeErrorClass {
+    TIMEOUT("timeout", 4),
+    HTTP_4XX("4xx", 1),
+    HTTP_5XX("5xx", 4),
+    THROTTLED("throttled", 5),
+    PARSE_FAILURE("parse-failure", 2),
+    LLM_FAILURE("llm-failure", 5),
+    OTHER("other", 3);
+
+    static final Duration BASE_BACKOFF = Duration.ofMinutes(10);
+    static final Duration MAX_BACKOFF = Duration.ofHours(24);
+
+    private final String code;
+    private final int maxAttempts;
+
+    ScrapeErrorClass(String code, int maxAttempts) {
+        this.code = code;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Delay before the next attempt after the given number of failed attempts:
+     * doubling from ten minutes up to a day, with +/-20% jitter so links that
+     * failed together are not retried together.
+     */
+    public Duration backoff(int attempts) {
+        long base = BASE_BACKOFF.toMillis() << Math.min(Math.max(attempts - 1, 0), 16);
+        long capped = Math.min(base, MAX_BACKOFF.toMillis());
+        double jitter = ThreadLocalRandom.current().nextDouble(0.8, 1.2);
+        return Duration.ofMillis((long) (capped * jitter));
+    }
+
+    public static ScrapeErrorClass fromCode(String code) {
+        for (ScrapeErrorClass errorClass : values()) {
+            if (errorClass.code.equals(code)) {
+                return errorClass;
+            }
+        }
+        return OTHER;
+    }
+}
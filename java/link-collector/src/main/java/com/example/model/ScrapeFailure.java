@@ -0,0 +1,6 @@
+package com.example.model;
+
+/**
+ * A failed attempt to scrape a job link.
+ */
+public record ScrapeFailure(Integer jobLinkId, ScrapeErrorClass errorClass, String message) {}
@@ -0,0 +1,160 @@
+package com.example.persistence;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the pooled DataSource shared by every repository.
+ * Connections are borrowed per statement and returned on close, so a query
+ * no longer pays a TCP/TLS/auth handshake against Postgres.
+ *
+ * SQLite connections run in WAL mode, so readers see the last committed state
+ * instead of waiting for the writer, and writes go through a single
+ * {@link SqliteWriter} per database (see {@link #write}).
+ */
+public final class Database {
+    public static final int DEFAULT_POOL_SIZE = 10;
+    public static final long DEFAULT_LEAK_DETECTION_MS = 60_000;
+
+    static final int SQLITE_BUSY_TIMEOUT_MS = 5_000;
+    static final long SQLITE_MMAP_SIZE = 256L * 1024 * 1024;
+    static final int SQLITE_CACHE_KIB = 64 * 1024;
+
+    private static final Map<DataSource, SqliteWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private Database() {}
+
+    /**
+     * Create a connection pool for the given JDBC URL.
+     * @param jdbcUrl the JDBC URL (SQLite or PostgreSQL)
+     * @param maxPoolSize maximum number of pooled connections
+     * @param leakDetectionMs log a warning when a connection is held longer than this (0 disables)
+     * @return the pooled DataSource; close it on shutdown
+     */
+    public static HikariDataSource createPool(String jdbcUrl, int maxPoolSize, long leakDetectionMs) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setPoolName("jobs-db");
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setMinimumIdle(Math.min(2, maxPoolSize));
+        config.setLeakDetectionThreshold(leakDetectionMs);
+        config.setMetricsTrackerFactory(new PoolMetrics());
+        if (isSqliteUrl(jdbcUrl)) {
+            // Read by the SQLite driver as pragmas on every new connection
+            config.addDataSourceProperty("journal_mode", "WAL");
+            config.addDataSourceProperty("synchronous", "NORMAL"); // Durable at checkpoints; safe in WAL
+            config.addDataSourceProperty("busy_timeout", String.valueOf(SQLITE_BUSY_TIMEOUT_MS));
+            config.addDataSourceProperty("mmap_size", String.valueOf(SQLITE_MMAP_SIZE));
+            config.addDataSourceProperty("cache_size", String.valueOf(-SQLITE_CACHE_KIB)); // Negative = KiB
+        }
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Create a connection pool configured from the environment: JOBS_DB_URL
+     * (JDBC_URL is still read when it is unset), JOBS_DB_POOL_SIZE and
+     * JOBS_DB_LEAK_DETECTION_MS, each falling back to the defaults.
+     * @return the pooled DataSource; close it on shutdown
+     */
+    public static HikariDataSource createPoolFromEnv() {
+        String jdbcUrl = Optional.ofNullable(System.getenv("JOBS_DB_URL"))
+            .or(() -> Optional.ofNullable(System.getenv("JDBC_URL")))
+            .orElse("jdbc:sqlite:jobs.db");
+        int poolSize = Optional.ofNullable(System.getenv("JOBS_DB_POOL_SIZE"))
+            .map(Integer::parseInt)
+            .orElse(DEFAULT_POOL_SIZE);
+        long leakDetectionMs = Optional.ofNullable(System.getenv("JOBS_DB_LEAK_DETECTION_MS"))
+            .map(Long::parseLong)
+            .orElse(DEFAULT_LEAK_DETECTION_MS);
+        return createPool(jdbcUrl, poolSize, leakDetectionMs);
+    }
+
+    /**
+     * Run a write operation in its own transaction.
+     *
+     * On a SQLite pool from {@link #createPool} the operation is queued to the
+     * database's writer thread and may share a commit with other queued writes;
+     * otherwise it runs on a pooled connection. Either way this returns once the
+     * operation is committed and rethrows anything it threw.
+     */
+    public static <T> T write(DataSource dataSource, WriteOperation<T> operation) throws Exception {
+        SqliteWriter writer = writer(dataSource);
+        if (writer != null) {
+            return writer.execute(operation);
+        }
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                T result = operation.apply(conn);
+                conn.commit();
+                return result;
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Stop the SQLite writer, if any, after its queued writes, then close the pool.
+     */
+    public static void close(HikariDataSource dataSource) {
+        SqliteWriter writer = WRITERS.remove(dataSource);
+        if (writer != null) {
+            System.out.println("DB writer: " + writer.stats());
+            try {
+                writer.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        dataSource.close();
+    }
+
+    /**
+     * Check whether a connection talks to PostgreSQL (otherwise SQLite is assumed).
+     */
+    public static boolean isPostgres(Connection conn) throws SQLException {
+        return conn.getMetaData().getURL().contains("postgresql");
+    }
+
+    /**
+     * Current pool metrics, if the DataSource was created by {@link #createPool}.
+     */
+    public static Optional<PoolMetrics.Snapshot> metrics(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari
+                && hikari.getMetricsTrackerFactory() instanceof PoolMetrics metrics) {
+            return Optional.of(metrics.snapshot());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Current writer counters, if the DataSource has a SQLite writer.
+     */
+    public static Optional<SqliteWriter.Stats> writerStats(DataSource dataSource) {
+        return Optional.ofNullable(WRITERS.get(dataSource)).map(SqliteWriter::stats);
+    }
+
+    private static SqliteWriter writer(DataSource dataSource) {
+        if (!(dataSource instanceof HikariDataSource hikari) || hikari.isClosed() || !isSqliteUrl(hikari.getJdbcUrl())) {
+            return null;
+        }
+        return WRITERS.computeIfAbsent(dataSource,
+            ds -> new SqliteWriter(hikari.getJdbcUrl(), hikari.getDataSourceProperties()));
+    }
+
+    private static boolean isSqliteUrl(String jdbcUrl) {
+        return jdbcUrl != null && jdbcUrl.startsWith("jdbc:sqlite:");
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.persistence;
 
 import com.example.model.JobInfo;
+import com.example.model.JobInfoPage;
+import com.example.model.JobInfoQuery;
+
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Repository interface for JobInfo persistence operations.
@@ -24,6 +29,18 @@ public interface JobInfoRepository {
      */
     void upsert(JobInfo jobInfo) throws Exception;
 
+    /**
+     * Upsert a batch of JobInfo records and mark their job links 'scraped' in one
+     * transaction. Either the whole batch is written or none of it is. Failed
+     * scrapes are not saved here; they go through
+     * {@link JobLinkRepository#recordFailures}, which classifies them for retry.
+     * @param jobInfos the job information to save, at most one per job link
+     * @return number of job_info rows written
+     * @throws IllegalArgumentException if a record is not a successful scrape
+     * @throws Exception if database operation fails
+     */
+    int saveAllAndMarkScraped(List<JobInfo> jobInfos) throws Exception;
+
     /**
      * Find job infos by job link IDs.
      * @param jobLinkIds list of job link IDs to search for
@@ -46,4 +63,43 @@ public interface JobInfoRepository {
      * @throws Exception if database operation fails
      */
     List<JobInfo> findAll() throws Exception;
+
+    /**
+     * Find job info records scraped at or after the given time, oldest first.
+     * Every insert and upsert sets scraped_at, so this also picks up rows
+     * re-scraped in place since a previous read.
+     * Fields outside the projection are null.
+     * @param since earliest scraped_at to include ({@link Instant#EPOCH} for all rows)
+     * @param fields JobInfo component names to load; null for all
+     * @return list of JobInfo records ordered by (scraped_at, id)
+     * @throws IllegalArgumentException if a field is unknown
+     * @throws Exception if database operation fails
+     */
+    List<JobInfo> findScrapedSince(Instant since, Set<String> fields) throws Exception;
+
+    /**
+     * Find one page of job info records matching the query, newest first.
+     * Pages are keyset-paginated on (scraped_at, id), so deep pages cost the
+     * same as the first one. When the query has search text, results come
+     * from the full-text index ordered by relevance instead.
+     * Fields outside the query's projection are null.
+     * @param query filters, projection, cursor and page size
+     * @return the page of records and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     * @throws Exception if database operation fails
+     */
+    JobInfoPage findPage(JobInfoQuery query) throws Exception;
+
+    /**
+     * Stream every job info record matching the query's filters and projection,
+     * newest first, starting after the query's cursor. The query's limit is ignored.
+     * Rows are handed over one at a time from an open cursor, so memory use does
+     * not depend on how many rows match.
+     * @param query filters, projection and optional starting cursor (no search text)
+     * @param handler called for each row in order
+     * @return number of rows streamed
+     * @throws IllegalArgumentException if the cursor is malformed or search text is set
+     * @throws Exception if database operation fails or the handler throws
+     */
+    int forEach(JobInfoQuery query, RowHandler<JobInfo> handler) throws Exception;
 }
@@ -2,19 +2,46 @@ package com.example.persistence;
 
 import com.example.model.JobLink;
 import com.example.model.JobLinkWithId;
+import com.example.model.ScrapeFailure;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public interface JobLinkRepository {
     void saveAllIgnoreDuplicates(List<JobLink> links) throws Exception;
 
     /**
-     * Find job links with status='new' (not yet scraped).
+     * Find job links to scrape: status='new', plus status='retry' links whose
+     * backoff has expired (next_attempt_at in the past).
      * @param limit maximum number of links to return
      * @return list of unscraped job links with their IDs
      * @throws Exception if database operation fails
      */
     List<JobLinkWithId> findUnscrapedLinks(int limit) throws Exception;
 
+    /**
+     * Atomically claim links to scrape, so concurrent scrapers never get the same link.
+     * Claims the same links {@link #findUnscrapedLinks} would return, skipping
+     * links under another owner's unexpired lease; expired leases are reclaimed.
+     * @param owner lease owner, unique per scraper process
+     * @param limit maximum number of links to claim
+     * @param lease how long the claim holds before other owners may take the link
+     * @return the claimed links
+     * @throws Exception if database operation fails
+     */
+    List<JobLinkWithId> claimLinks(String owner, int limit, Duration lease) throws Exception;
+
+    /**
+     * Release every lease the owner still holds, for links it claimed but did not finish.
+     * @param owner lease owner
+     * @return number of links released
+     * @throws Exception if database operation fails
+     */
+    int releaseClaims(String owner) throws Exception;
+
     /**
      * Update a job link's status to 'scraped' and set the scraped_at timestamp.
      * @param jobLinkId the ID of the job link to update
@@ -29,4 +56,46 @@ public interface JobLinkRepository {
      * @throws Exception if database operation fails
      */
     void markAsError(Integer jobLinkId, String errorMessage) throws Exception;
+
+    /**
+     * Record failed scrape attempts. Each link's attempt_count is incremented;
+     * while its error class allows more attempts the link goes to status 'retry'
+     * with next_attempt_at pushed out by the class's backoff, otherwise to 'error'.
+     * @param failures the failed attempts, at most one per job link
+     * @return number of links scheduled for another attempt
+     * @throws Exception if database operation fails
+     */
+    int recordFailures(List<ScrapeFailure> failures) throws Exception;
+
+    /**
+     * Fill in posting_key for links saved before it was recorded.
+     * @param keyOf computes a link's posting key from its URL
+     * @return number of links updated
+     * @throws Exception if database operation fails
+     */
+    int backfillPostingKeys(Function<String, String> keyOf) throws Exception;
+
+    /**
+     * @return number of stored job links
+     * @throws Exception if database operation fails
+     */
+    int countLinks() throws Exception;
+
+    /**
+     * Pass the posting keys of links stored after the given id to the action, in id
+     * order, streaming rather than loading them all.
+     * @param afterId highest link id already seen (0 for every link)
+     * @param action called once per link with a posting key
+     * @return highest link id passed to the action, or afterId if there were none
+     * @throws Exception if database operation fails
+     */
+    int forEachPostingKey(int afterId, Consumer<String> action) throws Exception;
+
+    /**
+     * Which of the given posting keys already belong to a stored link.
+     * @param keys posting keys to look up
+     * @return the subset of keys that are stored
+     * @throws Exception if database operation fails
+     */
+    Set<String> findExistingPostingKeys(Collection<String> keys) throws Exception;
 }
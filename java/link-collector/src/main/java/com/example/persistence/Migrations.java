@@ -2,23 +2,127 @@ package com.example.persistence;
 
 import org.flywaydb.core.Flyway;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Brings the schema up to date.
+ *
+ * Most commands start against a database that is already migrated, so
+ * {@link #migrate(DataSource)} first compares the latest applied version in
+ * flyway_schema_history with {@link #EXPECTED_VERSION} in a single query, and
+ * only loads Flyway (and scans the classpath for scripts) when they differ.
+ */
 public final class Migrations {
+    /**
+     * Latest migration shipped in this build. Bump it with every new V&lt;n&gt;__ script
+     * (in both db/migrations and db/migrations-postgres), or the fast check will
+     * report the schema as current and the script will only run via the migrate command.
+     */
+    static final String EXPECTED_VERSION = "14";
+
+    private static final Set<DataSource> UP_TO_DATE = Collections.synchronizedSet(
+        Collections.newSetFromMap(new WeakHashMap<>()));
+
     private Migrations() {}
 
-    public static void migrate(String jdbcUrl) {
+    /**
+     * Migrate the schema if it is behind this build. Cheap when it is not.
+     */
+    public static void migrate(DataSource dataSource) throws Exception {
+        migrate(dataSource, false);
+    }
+
+    /**
+     * Migrate the schema.
+     * @param force run Flyway even if the schema version already matches
+     */
+    public static void migrate(DataSource dataSource, boolean force) throws Exception {
+        if (!force && UP_TO_DATE.contains(dataSource)) {
+            return;
+        }
+
+        boolean isPostgres;
+        String current;
+        try (Connection conn = dataSource.getConnection()) {
+            isPostgres = Database.isPostgres(conn);
+            current = appliedVersion(conn);
+        }
+
+        if (!force && current != null && compareVersions(current, EXPECTED_VERSION) >= 0) {
+            UP_TO_DATE.add(dataSource);
+            return;
+        }
+
         // Auto-detect database type and use appropriate migrations folder
-        String migrationsPath = jdbcUrl.contains("postgresql")
+        String migrationsPath = isPostgres
             ? "classpath:db/migrations-postgres"
             : "classpath:db/migrations";
 
-        System.out.println("Using migrations from: " + migrationsPath);
+        System.out.println("Schema at version " + (current != null ? current : "none")
+            + ", expected " + EXPECTED_VERSION + "; using migrations from: " + migrationsPath);
+        FlywayRunner.migrate(dataSource, migrationsPath);
+        UP_TO_DATE.add(dataSource);
+    }
+
+    /**
+     * Latest successfully applied versioned migration, or null if there is no
+     * history table yet or the latest migration failed.
+     */
+    static String appliedVersion(Connection conn) {
+        String sql = """
+            SELECT version, success FROM flyway_schema_history
+            WHERE version IS NOT NULL
+            ORDER BY installed_rank DESC
+            LIMIT 1
+            """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            if (rs.next() && rs.getBoolean("success")) {
+                return rs.getString("version");
+            }
+            return null;
+        } catch (SQLException e) {
+            return null; // No history table: a fresh database
+        }
+    }
+
+    /**
+     * Compare Flyway versions ("9", "9.1", "10_2") part by part, numerically.
+     */
+    static int compareVersions(String a, String b) {
+        String[] as = a.split("[._]");
+        String[] bs = b.split("[._]");
+        for (int i = 0; i < Math.max(as.length, bs.length); i++) {
+            long x = i < as.length ? Long.parseLong(as[i]) : 0;
+            long y = i < bs.length ? Long.parseLong(bs[i]) : 0;
+            if (x != y) {
+                return Long.compare(x, y);
+            }
+        }
+        return 0;
+    }
 
-        Flyway flyway = Flyway.configure()
-                .dataSource(jdbcUrl, null, null)
-                .locations(migrationsPath)
-                .validateOnMigrate(false)  // Skip validation - allow checksum mismatches
-                .load();
+    /**
+     * Holder for the Flyway calls, so Flyway's classes are only loaded when a
+     * migration actually runs.
+     */
+    private static final class FlywayRunner {
+        static void migrate(DataSource dataSource, String migrationsPath) {
+            Flyway flyway = Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations(migrationsPath)
+                    .validateOnMigrate(false)  // Skip validation - allow checksum mismatches
+                    .load();
 
-        flyway.migrate();
+            flyway.migrate();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package com.example.persistence;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for cached OpenAI parse responses.
+ */
+public interface ParseCacheRepository {
+
+    /**
+     * Look up a cached response and record the hit.
+     * @param cacheKey the content hash
+     * @return Optional containing the cached JSON response if present
+     * @throws Exception if database operation fails
+     */
+    Optional<String> find(String cacheKey) throws Exception;
+
+    /**
+     * Store a response, replacing any existing entry with the same key.
+     * @param cacheKey the content hash
+     * @param model the model that produced the response
+     * @param promptVersion the prompt version that produced the response
+     * @param responseJson the cleaned JSON response
+     * @throws Exception if database operation fails
+     */
+    void put(String cacheKey, String model, String promptVersion, String responseJson) throws Exception;
+
+    /**
+     * Count cached entries.
+     * @return number of entries
+     * @throws Exception if database operation fails
+     */
+    int count() throws Exception;
+
+    /**
+     * Delete the least recently used entries until at most maxEntries remain.
+     * @param maxEntries the size bound
+     * @return number of entries deleted
+     * @throws Exception if database operation fails
+     */
+    int evictToSize(int maxEntries) throws Exception;
+}
@@ -0,0 +1,75 @@
+package com.example.persistence;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects connection pool metrics: active/idle counts from Hikari plus
+ * how long callers waited to borrow a connection.
+ */
+public final class PoolMetrics implements MetricsTrackerFactory {
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquisitions.incrementAndGet();
+                totalWaitNanos.addAndGet(elapsedAcquiredNanos);
+                maxWaitNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.incrementAndGet();
+            }
+        };
+    }
+
+    public Snapshot snapshot() {
+        PoolStats stats = poolStats;
+        long count = acquisitions.get();
+        double avgWaitMs = count == 0 ? 0.0 : totalWaitNanos.get() / (double) count / 1_000_000.0;
+        return new Snapshot(
+            stats != null ? stats.getActiveConnections() : 0,
+            stats != null ? stats.getIdleConnections() : 0,
+            stats != null ? stats.getTotalConnections() : 0,
+            stats != null ? stats.getMaxConnections() : 0,
+            stats != null ? stats.getPendingThreads() : 0,
+            count,
+            avgWaitMs,
+            maxWaitNanos.get() / 1_000_000.0,
+            timeouts.get()
+        );
+    }
+
+    /**
+     * Point-in-time view of the pool.
+     */
+    public record Snapshot(
+        int active,
+        int idle,
+        int total,
+        int max,
+        int waiting,
+        long acquisitions,
+        double avgWaitMs,
+        double maxWaitMs,
+        long timeouts
+    ) {
+        @Override
+        public String toString() {
+            return String.format("active=%d idle=%d total=%d/%d waiting=%d acquired=%d avgWait=%.2fms maxWait=%.2fms timeouts=%d",
+                active, idle, total, max, waiting, acquisitions, avgWaitMs, maxWaitMs, timeouts);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.persistence;
+
+/**
+ * Callback for rows streamed from an open ResultSet.
+ * @param <T> the mapped row type
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+
+    /**
+     * Handle one row.
+     * @param row the mapped row
+     * @throws Exception to stop streaming; the exception propagates to the caller
+     */
+    void handle(T row) throws Exception;
+}
@@ -0,0 +1,39 @@
+package com.example.persistence;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repository interface for fingerprints of collected README sources.
+ */
+public interface SourceSnapshotRepository {
+
+    /**
+     * Find the content hash stored at the source's last collection.
+     * @param sourceUrl the README URL
+     * @return Optional containing the hash if the source was collected before
+     * @throws Exception if database operation fails
+     */
+    Optional<String> findContentHash(String sourceUrl) throws Exception;
+
+    /**
+     * Find the row hashes stored at the source's last collection.
+     * @param sourceUrl the README URL
+     * @return the row hashes, empty if the source was never collected
+     * @throws Exception if database operation fails
+     */
+    Set<String> findRowHashes(String sourceUrl) throws Exception;
+
+    /**
+     * Record a collection as a diff against the previous one, in one transaction.
+     * @param sourceUrl the README URL
+     * @param contentHash hash of the whole table
+     * @param rowCount number of rows in the table
+     * @param addedRows row hashes not seen before
+     * @param removedRows row hashes no longer present
+     * @throws Exception if database operation fails
+     */
+    void saveSnapshot(String sourceUrl, String contentHash, int rowCount,
+                      Collection<String> addedRows, Collection<String> removedRows) throws Exception;
+}
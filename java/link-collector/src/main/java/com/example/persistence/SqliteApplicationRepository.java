@@ -2,6 +2,7 @@ package com.example.persistence;
 
 import com.example.model.Application;
 
+import javax.sql.DataSource;
 import java.sql.*;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -12,10 +13,10 @@ import java.util.Optional;
  * SQLite implementation of ApplicationRepository.
  */
 public final class SqliteApplicationRepository implements ApplicationRepository {
-    private final String jdbcUrl;
+    private final DataSource dataSource;
 
-    public SqliteApplicationRepository(String jdbcUrl) {
-        this.jdbcUrl = jdbcUrl;
+    public SqliteApplicationRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -26,25 +27,25 @@ public final class SqliteApplicationRepository implements ApplicationRepository
             ) VALUES (?, ?, ?, ?, ?, ?)
             """;
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setInt(1, application.userId());
-            ps.setInt(2, application.jobInfoId());
-            ps.setString(3, application.status());
-            ps.setTimestamp(4, Timestamp.from(application.appliedAt()));
-            ps.setString(5, application.notes());
-            ps.setString(6, application.resumeVersion());
+        Database.write(dataSource, conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, application.userId());
+                ps.setInt(2, application.jobInfoId());
+                ps.setString(3, application.status());
+                ps.setTimestamp(4, Timestamp.from(application.appliedAt()));
+                ps.setString(5, application.notes());
+                ps.setString(6, application.resumeVersion());
 
-            ps.executeUpdate();
-        }
+                return ps.executeUpdate();
+            }
+        });
     }
 
     @Override
     public Optional<Application> findById(Integer id) throws Exception {
         String sql = "SELECT * FROM applications WHERE id = ?";
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, id);
@@ -66,7 +67,7 @@ public final class SqliteApplicationRepository implements ApplicationRepository
             ORDER BY applied_at DESC
             """;
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, userId);
@@ -89,7 +90,7 @@ public final class SqliteApplicationRepository implements ApplicationRepository
             ORDER BY applied_at DESC
             """;
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, userId);
@@ -113,23 +114,23 @@ public final class SqliteApplicationRepository implements ApplicationRepository
             WHERE id = ?
             """;
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, application.status());
-            ps.setString(2, application.notes());
-            ps.setString(3, application.resumeVersion());
-            ps.setInt(4, application.id());
+        Database.write(dataSource, conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, application.status());
+                ps.setString(2, application.notes());
+                ps.setString(3, application.resumeVersion());
+                ps.setInt(4, application.id());
 
-            ps.executeUpdate();
-        }
+                return ps.executeUpdate();
+            }
+        });
     }
 
     @Override
     public boolean existsByUserAndJob(Integer userId, Integer jobInfoId) throws Exception {
         String sql = "SELECT COUNT(*) FROM applications WHERE user_id = ? AND job_info_id = ?";
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, userId);
@@ -154,7 +155,7 @@ public final class SqliteApplicationRepository implements ApplicationRepository
             ORDER BY count DESC
             """;
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, userId);
@@ -1,19 +1,45 @@
 package com.example.persistence;
 
 import com.example.model.JobInfo;
+import com.example.model.JobInfoPage;
+import com.example.model.JobInfoQuery;
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * SQLite implementation of JobInfoRepository.
  */
 public final class SqliteJobInfoRepository implements JobInfoRepository {
-    private final String jdbcUrl;
+    /**
+     * JobInfo field name to job_info column, for projections.
+     */
+    private static final Map<String, String> FIELD_COLUMNS = Map.ofEntries(
+        Map.entry("id", "id"),
+        Map.entry("jobLinkId", "job_link_id"),
+        Map.entry("title", "title"),
+        Map.entry("company", "company"),
+        Map.entry("location", "location"),
+        Map.entry("remoteType", "remote_type"),
+        Map.entry("salary", "salary"),
+        Map.entry("description", "description"),
+        Map.entry("requirements", "requirements"),
+        Map.entry("jobType", "job_type"),
+        Map.entry("postedDate", "posted_date"),
+        Map.entry("applicationUrl", "application_url"),
+        Map.entry("scrapedAt", "scraped_at"),
+        Map.entry("scrapeSuccess", "scrape_success")
+    );
 
-    public SqliteJobInfoRepository(String jdbcUrl) {
-        this.jdbcUrl = jdbcUrl;
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int MULTI_ROW_CHUNK = 500;
+
+    private final DataSource dataSource;
+
+    public SqliteJobInfoRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -27,42 +53,164 @@ public final class SqliteJobInfoRepository implements JobInfoRepository {
             ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             """;
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setInt(1, jobInfo.jobLinkId());
-            ps.setObject(2, jobInfo.scrapedAt());
-            ps.setInt(3, jobInfo.scrapeSuccess() ? 1 : 0);
-            ps.setString(4, jobInfo.title());
-            ps.setString(5, jobInfo.company());
-            ps.setString(6, jobInfo.location());
-            ps.setString(7, jobInfo.remoteType());
-            ps.setString(8, jobInfo.salary());
-            ps.setString(9, jobInfo.description());
-            ps.setString(10, jobInfo.requirements());
-            ps.setString(11, jobInfo.jobType());
-            ps.setString(12, jobInfo.postedDate());
-            ps.setString(13, jobInfo.applicationUrl());
+        Database.write(dataSource, conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, jobInfo.jobLinkId());
+                boolean isPostgres = Database.isPostgres(conn);
+                bindScrapedAt(ps, 2, jobInfo.scrapedAt(), isPostgres);
+                bindScrapeSuccess(ps, 3, jobInfo, isPostgres);
+                ps.setString(4, jobInfo.title());
+                ps.setString(5, jobInfo.company());
+                ps.setString(6, jobInfo.location());
+                ps.setString(7, jobInfo.remoteType());
+                ps.setString(8, jobInfo.salary());
+                ps.setString(9, jobInfo.description());
+                ps.setString(10, jobInfo.requirements());
+                ps.setString(11, jobInfo.jobType());
+                ps.setString(12, jobInfo.postedDate());
+                ps.setString(13, jobInfo.applicationUrl());
 
-            ps.executeUpdate();
-        }
+                return ps.executeUpdate();
+            }
+        });
     }
 
     @Override
     public void upsert(JobInfo jobInfo) throws Exception {
-        // Database-agnostic upsert logic
-        boolean isPostgres = jdbcUrl.contains("postgresql");
+        Database.write(dataSource, conn -> {
+            // Database-agnostic upsert logic
+            boolean isPostgres = Database.isPostgres(conn);
 
-        String sql;
-        if (isPostgres) {
-            // PostgreSQL: INSERT ... ON CONFLICT ... DO UPDATE
-            sql = """
+            String sql;
+            if (isPostgres) {
+                // PostgreSQL: INSERT ... ON CONFLICT ... DO UPDATE
+                sql = """
+                    INSERT INTO job_info (
+                        job_link_id, scraped_at, scrape_success,
+                        title, company, location, remote_type,
+                        salary, description, requirements, job_type,
+                        posted_date, application_url
+                    ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    ON CONFLICT (job_link_id) DO UPDATE SET
+                        scraped_at = EXCLUDED.scraped_at,
+                        scrape_success = EXCLUDED.scrape_success,
+                        title = EXCLUDED.title,
+                        company = EXCLUDED.company,
+                        location = EXCLUDED.location,
+                        remote_type = EXCLUDED.remote_type,
+                        salary = EXCLUDED.salary,
+                        description = EXCLUDED.description,
+                        requirements = EXCLUDED.requirements,
+                        job_type = EXCLUDED.job_type,
+                        posted_date = EXCLUDED.posted_date,
+                        application_url = EXCLUDED.application_url
+                    """;
+            } else {
+                // SQLite: INSERT OR REPLACE
+                sql = """
+                    INSERT OR REPLACE INTO job_info (
+                        job_link_id, scraped_at, scrape_success,
+                        title, company, location, remote_type,
+                        salary, description, requirements, job_type,
+                        posted_date, application_url
+                    ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """;
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+
+                ps.setInt(1, jobInfo.jobLinkId());
+                bindScrapedAt(ps, 2, jobInfo.scrapedAt(), isPostgres);
+                bindScrapeSuccess(ps, 3, jobInfo, isPostgres);
+
+                ps.setString(4, jobInfo.title());
+                ps.setString(5, jobInfo.company());
+                ps.setString(6, jobInfo.location());
+                ps.setString(7, jobInfo.remoteType());
+                ps.setString(8, jobInfo.salary());
+                ps.setString(9, jobInfo.description());
+                ps.setString(10, jobInfo.requirements());
+                ps.setString(11, jobInfo.jobType());
+                ps.setString(12, jobInfo.postedDate());
+                ps.setString(13, jobInfo.applicationUrl());
+
+                return ps.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public int saveAllAndMarkScraped(List<JobInfo> jobInfos) throws Exception {
+        if (jobInfos.isEmpty()) {
+            return 0;
+        }
+
+        // One row per job link; a multi-row upsert can't touch the same row twice
+        Map<Integer, JobInfo> byLink = new LinkedHashMap<>();
+        for (JobInfo jobInfo : jobInfos) {
+            if (!Boolean.TRUE.equals(jobInfo.scrapeSuccess())) {
+                throw new IllegalArgumentException("Failed scrape of job link " + jobInfo.jobLinkId()
+                    + " must be recorded with JobLinkRepository.recordFailures");
+            }
+            byLink.put(jobInfo.jobLinkId(), jobInfo);
+        }
+        List<JobInfo> rows = new ArrayList<>(byLink.values());
+
+        return Database.write(dataSource, conn -> {
+            boolean isPostgres = Database.isPostgres(conn);
+            if (isPostgres) {
+                upsertMultiRow(conn, rows);
+            } else {
+                upsertBatch(conn, rows);
+            }
+            markLinks(conn, rows, isPostgres);
+            return rows.size();
+        });
+    }
+
+    /**
+     * SQLite: one prepared INSERT OR REPLACE, executed as a JDBC batch.
+     */
+    private static void upsertBatch(Connection conn, List<JobInfo> rows) throws SQLException {
+        String sql = """
+            INSERT OR REPLACE INTO job_info (
+                job_link_id, scraped_at, scrape_success,
+                title, company, location, remote_type,
+                salary, description, requirements, job_type,
+                posted_date, application_url
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (JobInfo jobInfo : rows) {
+                bindJobInfo(ps, 0, jobInfo, false);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * PostgreSQL: multi-row INSERT ... ON CONFLICT, chunked to stay under the
+     * driver's bind parameter limit.
+     */
+    private static void upsertMultiRow(Connection conn, List<JobInfo> rows) throws SQLException {
+        for (int from = 0; from < rows.size(); from += MULTI_ROW_CHUNK) {
+            List<JobInfo> chunk = rows.subList(from, Math.min(from + MULTI_ROW_CHUNK, rows.size()));
+
+            StringBuilder sql = new StringBuilder("""
                 INSERT INTO job_info (
                     job_link_id, scraped_at, scrape_success,
                     title, company, location, remote_type,
                     salary, description, requirements, job_type,
                     posted_date, application_url
-                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                ) VALUES
+                """);
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ",\n").append("(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            }
+            sql.append("""
+
                 ON CONFLICT (job_link_id) DO UPDATE SET
                     scraped_at = EXCLUDED.scraped_at,
                     scrape_success = EXCLUDED.scrape_success,
@@ -76,43 +224,87 @@ public final class SqliteJobInfoRepository implements JobInfoRepository {
                     job_type = EXCLUDED.job_type,
                     posted_date = EXCLUDED.posted_date,
                     application_url = EXCLUDED.application_url
-                """;
-        } else {
-            // SQLite: INSERT OR REPLACE
-            sql = """
-                INSERT OR REPLACE INTO job_info (
-                    job_link_id, scraped_at, scrape_success,
-                    title, company, location, remote_type,
-                    salary, description, requirements, job_type,
-                    posted_date, application_url
-                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-                """;
+                """);
+
+            try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    bindJobInfo(ps, i * 13, chunk.get(i), true);
+                }
+                ps.executeUpdate();
+            }
         }
+    }
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    private static void bindJobInfo(PreparedStatement ps, int offset, JobInfo jobInfo, boolean isPostgres)
+            throws SQLException {
+        ps.setInt(offset + 1, jobInfo.jobLinkId());
+        bindScrapedAt(ps, offset + 2, jobInfo.scrapedAt(), isPostgres);
+        bindScrapeSuccess(ps, offset + 3, jobInfo, isPostgres);
+        ps.setString(offset + 4, jobInfo.title());
+        ps.setString(offset + 5, jobInfo.company());
+        ps.setString(offset + 6, jobInfo.location());
+        ps.setString(offset + 7, jobInfo.remoteType());
+        ps.setString(offset + 8, jobInfo.salary());
+        ps.setString(offset + 9, jobInfo.description());
+        if (isPostgres) {
+            ps.setObject(offset + 10, jobInfo.requirements(), Types.OTHER); // JSONB
+        } else {
+            ps.setString(offset + 10, jobInfo.requirements());
+        }
+        ps.setString(offset + 11, jobInfo.jobType());
+        ps.setString(offset + 12, jobInfo.postedDate());
+        ps.setString(offset + 13, jobInfo.applicationUrl());
+    }
 
-            ps.setInt(1, jobInfo.jobLinkId());
-            ps.setTimestamp(2, Timestamp.from(jobInfo.scrapedAt()));
+    /**
+     * scraped_at is a TIMESTAMP on PostgreSQL. On SQLite every write path stores
+     * epoch millis, so ORDER BY scraped_at and the keyset cursor stay chronological.
+     */
+    private static void bindScrapedAt(PreparedStatement ps, int index, Instant scrapedAt, boolean isPostgres)
+            throws SQLException {
+        if (isPostgres) {
+            ps.setTimestamp(index, Timestamp.from(scrapedAt));
+        } else {
+            ps.setLong(index, scrapedAt.toEpochMilli());
+        }
+    }
 
-            if (isPostgres) {
-                ps.setBoolean(3, jobInfo.scrapeSuccess());
-            } else {
-                ps.setInt(3, jobInfo.scrapeSuccess() ? 1 : 0);
-            }
+    /**
+     * scrape_success is a BOOLEAN on PostgreSQL and 0/1 on SQLite. A JobInfo read
+     * through a projection may leave it null, and can't be written back.
+     */
+    private static void bindScrapeSuccess(PreparedStatement ps, int index, JobInfo jobInfo, boolean isPostgres)
+            throws SQLException {
+        if (jobInfo.scrapeSuccess() == null) {
+            throw new IllegalArgumentException("scrapeSuccess is not set for job link " + jobInfo.jobLinkId());
+        }
+        if (isPostgres) {
+            ps.setBoolean(index, jobInfo.scrapeSuccess());
+        } else {
+            ps.setInt(index, jobInfo.scrapeSuccess() ? 1 : 0);
+        }
+    }
 
-            ps.setString(4, jobInfo.title());
-            ps.setString(5, jobInfo.company());
-            ps.setString(6, jobInfo.location());
-            ps.setString(7, jobInfo.remoteType());
-            ps.setString(8, jobInfo.salary());
-            ps.setString(9, jobInfo.description());
-            ps.setString(10, jobInfo.requirements());
-            ps.setString(11, jobInfo.jobType());
-            ps.setString(12, jobInfo.postedDate());
-            ps.setString(13, jobInfo.applicationUrl());
+    private static void markLinks(Connection conn, List<JobInfo> rows, boolean isPostgres) throws SQLException {
+        String scraped = """
+            UPDATE job_links
+            SET status = 'scraped',
+                scraped_at = ?,
+                next_attempt_at = NULL,
+                error_class = NULL,
+                lease_owner = NULL,
+                lease_expires_at = NULL
+            WHERE id = ?
+            """;
 
-            ps.executeUpdate();
+        Object now = isPostgres ? Timestamp.from(Instant.now()) : Instant.now().toString();
+        try (PreparedStatement scrapedPs = conn.prepareStatement(scraped)) {
+            for (JobInfo jobInfo : rows) {
+                scrapedPs.setObject(1, now);
+                scrapedPs.setInt(2, jobInfo.jobLinkId());
+                scrapedPs.addBatch();
+            }
+            scrapedPs.executeBatch();
         }
     }
 
@@ -128,7 +320,7 @@ public final class SqliteJobInfoRepository implements JobInfoRepository {
 
         String sql = "SELECT * FROM job_info WHERE job_link_id IN (" + placeholders + ")";
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             for (int i = 0; i < jobLinkIds.size(); i++) {
@@ -149,7 +341,7 @@ public final class SqliteJobInfoRepository implements JobInfoRepository {
     public boolean existsByJobLinkId(Integer jobLinkId) throws Exception {
         String sql = "SELECT COUNT(*) FROM job_info WHERE job_link_id = ?";
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, jobLinkId);
@@ -167,7 +359,7 @@ public final class SqliteJobInfoRepository implements JobInfoRepository {
     public List<JobInfo> findAll() throws Exception {
         String sql = "SELECT * FROM job_info ORDER BY scraped_at DESC";
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             List<JobInfo> results = new ArrayList<>();
@@ -180,25 +372,308 @@ public final class SqliteJobInfoRepository implements JobInfoRepository {
         }
     }
 
-    private JobInfo mapResultSetToJobInfo(ResultSet rs) throws SQLException {
-        // Handle scraped_at: PostgreSQL returns Timestamp, SQLite returns String
-        Instant scrapedAt;
-        Object scrapedAtObj = rs.getObject("scraped_at");
-        if (scrapedAtObj instanceof Timestamp) {
-            scrapedAt = ((Timestamp) scrapedAtObj).toInstant();
-        } else {
-            scrapedAt = Instant.parse(rs.getString("scraped_at"));
+    @Override
+    public List<JobInfo> findScrapedSince(Instant since, Set<String> fields) throws Exception {
+        Set<String> columns = projectedColumns(fields);
+        String sql = "SELECT " + selectList(columns) + " FROM job_info j WHERE j.scraped_at >= ? "
+            + "ORDER BY j.scraped_at ASC, j.id ASC";
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            bindScrapedAt(ps, 1, since, Database.isPostgres(conn));
+
+            List<JobInfo> results = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    results.add(mapProjectedResultSet(rs, columns));
+                }
+            }
+            return results;
         }
+    }
 
-        // Handle scrape_success: PostgreSQL returns Boolean, SQLite returns Integer
-        boolean scrapeSuccess;
-        Object scrapeSuccessObj = rs.getObject("scrape_success");
-        if (scrapeSuccessObj instanceof Boolean) {
-            scrapeSuccess = (Boolean) scrapeSuccessObj;
+    @Override
+    public JobInfoPage findPage(JobInfoQuery query) throws Exception {
+        Set<String> columns = projectedColumns(query);
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean isPostgres = Database.isPostgres(conn);
+            if (query.text() != null) {
+                return searchPage(conn, isPostgres, query, columns);
+            }
+
+            List<Object> params = new ArrayList<>();
+            StringBuilder sql = listingSql(query, columns, isPostgres, params).append(" LIMIT ?");
+            // Fetch one extra row to know whether another page exists
+            params.add(query.limit() + 1);
+
+            try (PreparedStatement ps = prepare(conn, sql, params)) {
+                List<JobInfo> results = new ArrayList<>();
+                Cursor last = null;
+                boolean hasMore = false;
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        if (results.size() == query.limit()) {
+                            hasMore = true;
+                            break;
+                        }
+                        results.add(mapProjectedResultSet(rs, columns));
+                        last = new Cursor(rs.getString("scraped_at"), rs.getInt("id"));
+                    }
+                }
+                return new JobInfoPage(results, hasMore ? last.encode() : null);
+            }
+        }
+    }
+
+    @Override
+    public int forEach(JobInfoQuery query, RowHandler<JobInfo> handler) throws Exception {
+        if (query.text() != null) {
+            throw new IllegalArgumentException("Search results cannot be streamed");
+        }
+        Set<String> columns = projectedColumns(query);
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean isPostgres = Database.isPostgres(conn);
+            List<Object> params = new ArrayList<>();
+            StringBuilder sql = listingSql(query, columns, isPostgres, params);
+
+            // PostgreSQL only honours the fetch size (a server-side cursor) inside a transaction
+            if (isPostgres) {
+                conn.setAutoCommit(false);
+            }
+            try (PreparedStatement ps = prepare(conn, sql, params)) {
+                ps.setFetchSize(STREAM_FETCH_SIZE);
+
+                int count = 0;
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        handler.handle(mapProjectedResultSet(rs, columns));
+                        count++;
+                    }
+                }
+                return count;
+            } finally {
+                if (isPostgres) {
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Build the keyset listing query: filters, cursor and newest-first order, without a limit.
+     */
+    private static StringBuilder listingSql(JobInfoQuery query, Set<String> columns, boolean isPostgres,
+                                            List<Object> params) {
+        StringBuilder sql = new StringBuilder("SELECT ")
+            .append(selectList(columns))
+            .append(" FROM job_info j WHERE 1 = 1");
+        appendFilters(sql, params, query);
+
+        if (query.cursor() != null) {
+            Cursor after = Cursor.decode(query.cursor());
+            sql.append(" AND (j.scraped_at, j.id) < (?, ?)");
+            params.add(isPostgres ? Timestamp.valueOf(after.scrapedAt()) : after.scrapedAt());
+            params.add(after.id());
+        }
+        return sql.append(" ORDER BY j.scraped_at DESC, j.id DESC");
+    }
+
+    /**
+     * Full-text search through job_info_fts (SQLite FTS5) or the search_vector
+     * tsvector column (PostgreSQL). Every term is a prefix match and all terms
+     * must match; results are ordered by relevance, with title weighted above
+     * company, location and description. Relevance order has no stable key, so
+     * these pages use an offset cursor.
+     */
+    private JobInfoPage searchPage(Connection conn, boolean isPostgres, JobInfoQuery query,
+                                   Set<String> columns) throws SQLException {
+        List<String> terms = searchTerms(query.text());
+        if (terms.isEmpty()) {
+            return new JobInfoPage(List.of(), null);
+        }
+        int offset = query.cursor() != null ? OffsetCursor.decode(query.cursor()) : 0;
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(selectList(columns));
+        List<Object> params = new ArrayList<>();
+        if (isPostgres) {
+            String tsQuery = String.join(" & ", terms.stream().map(t -> t + ":*").toList());
+            sql.append(" FROM job_info j WHERE j.search_vector @@ to_tsquery('english', ?)");
+            params.add(tsQuery);
+            appendFilters(sql, params, query);
+            sql.append(" ORDER BY ts_rank(j.search_vector, to_tsquery('english', ?)) DESC, j.id DESC");
+            params.add(tsQuery);
         } else {
-            scrapeSuccess = rs.getInt("scrape_success") == 1;
+            String ftsQuery = String.join(" ", terms.stream().map(t -> "\"" + t + "\"*").toList());
+            sql.append(" FROM job_info_fts f JOIN job_info j ON j.id = f.rowid WHERE job_info_fts MATCH ?");
+            params.add(ftsQuery);
+            appendFilters(sql, params, query);
+            sql.append(" ORDER BY bm25(job_info_fts, 10.0, 5.0, 3.0, 1.0), j.id DESC");
+        }
+        sql.append(" LIMIT ? OFFSET ?");
+        params.add(query.limit() + 1);
+        params.add(offset);
+
+        try (PreparedStatement ps = prepare(conn, sql, params)) {
+            List<JobInfo> results = new ArrayList<>();
+            boolean hasMore = false;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (results.size() == query.limit()) {
+                        hasMore = true;
+                        break;
+                    }
+                    results.add(mapProjectedResultSet(rs, columns));
+                }
+            }
+            return new JobInfoPage(results, hasMore ? OffsetCursor.encode(offset + results.size()) : null);
+        }
+    }
+
+    /**
+     * Split free text into search terms, dropping punctuation so user input
+     * can't inject FTS5 or tsquery operators.
+     */
+    private static List<String> searchTerms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private static Set<String> projectedColumns(JobInfoQuery query) {
+        return projectedColumns(query.fields());
+    }
+
+    private static Set<String> projectedColumns(Set<String> fields) {
+        Set<String> columns = new LinkedHashSet<>(List.of("id", "scraped_at"));
+        for (String field : fields != null ? fields : FIELD_COLUMNS.keySet()) {
+            String column = FIELD_COLUMNS.get(field);
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    private static String selectList(Set<String> columns) {
+        return String.join(", ", columns.stream().map(c -> "j." + c).toList());
+    }
+
+    private static void appendFilters(StringBuilder sql, List<Object> params, JobInfoQuery query) {
+        if (query.remoteType() != null) {
+            sql.append(" AND j.remote_type = ?");
+            params.add(query.remoteType());
+        }
+        if (query.jobType() != null) {
+            sql.append(" AND j.job_type = ?");
+            params.add(query.jobType());
+        }
+        if (query.company() != null) {
+            sql.append(" AND lower(j.company) = ?");
+            params.add(query.company().toLowerCase(Locale.ROOT));
+        }
+        if (query.location() != null) {
+            sql.append(" AND lower(j.location) LIKE ? ESCAPE '\\'");
+            params.add(containsPattern(query.location()));
+        }
+    }
+
+    private static PreparedStatement prepare(Connection conn, StringBuilder sql, List<Object> params)
+            throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(sql.toString());
+        for (int i = 0; i < params.size(); i++) {
+            ps.setObject(i + 1, params.get(i));
+        }
+        return ps;
+    }
+
+    private static String containsPattern(String value) {
+        String escaped = value.toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * Position in a relevance-ordered search, as an opaque cursor.
+     */
+    private static final class OffsetCursor {
+        private static final String PREFIX = "offset:";
+
+        static String encode(int offset) {
+            byte[] raw = (PREFIX + offset).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+        }
+
+        static int decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                if (!raw.startsWith(PREFIX)) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                int offset = Integer.parseInt(raw.substring(PREFIX.length()));
+                if (offset < 0) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                return offset;
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+
+    /**
+     * Keyset position: the raw scraped_at value and id of the last row on a page.
+     */
+    private record Cursor(String scrapedAt, int id) {
+        String encode() {
+            byte[] raw = (scrapedAt + "|" + id).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
         }
 
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('|');
+                return new Cursor(raw.substring(0, sep), Integer.parseInt(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+
+    private static JobInfo mapProjectedResultSet(ResultSet rs, Set<String> columns) throws SQLException {
+        return new JobInfo(
+            rs.getInt("id"),
+            columns.contains("job_link_id") ? rs.getInt("job_link_id") : null,
+            columns.contains("title") ? rs.getString("title") : null,
+            columns.contains("company") ? rs.getString("company") : null,
+            columns.contains("location") ? rs.getString("location") : null,
+            columns.contains("remote_type") ? rs.getString("remote_type") : null,
+            columns.contains("salary") ? rs.getString("salary") : null,
+            columns.contains("description") ? rs.getString("description") : null,
+            columns.contains("requirements") ? rs.getString("requirements") : null,
+            columns.contains("job_type") ? rs.getString("job_type") : null,
+            columns.contains("posted_date") ? rs.getString("posted_date") : null,
+            columns.contains("application_url") ? rs.getString("application_url") : null,
+            readScrapedAt(rs),
+            columns.contains("scrape_success") ? readScrapeSuccess(rs) : null
+        );
+    }
+
+    static JobInfo mapResultSetToJobInfo(ResultSet rs) throws SQLException {
+        Instant scrapedAt = readScrapedAt(rs);
+        boolean scrapeSuccess = readScrapeSuccess(rs);
+
         return new JobInfo(
             rs.getInt("id"),
             rs.getInt("job_link_id"),
@@ -216,4 +691,27 @@ public final class SqliteJobInfoRepository implements JobInfoRepository {
             scrapeSuccess
         );
     }
+
+    private static Instant readScrapedAt(ResultSet rs) throws SQLException {
+        // Handle scraped_at: PostgreSQL returns Timestamp, SQLite returns String
+        Object scrapedAtObj = rs.getObject("scraped_at");
+        if (scrapedAtObj instanceof Timestamp) {
+            return ((Timestamp) scrapedAtObj).toInstant();
+        }
+        String raw = rs.getString("scraped_at");
+        // Written as epoch millis on SQLite (see bindScrapedAt); ISO text predates that
+        if (!raw.isEmpty() && raw.chars().allMatch(Character::isDigit)) {
+            return Instant.ofEpochMilli(Long.parseLong(raw));
+        }
+        return Instant.parse(raw);
+    }
+
+    private static boolean readScrapeSuccess(ResultSet rs) throws SQLException {
+        // Handle scrape_success: PostgreSQL returns Boolean, SQLite returns Integer
+        Object scrapeSuccessObj = rs.getObject("scrape_success");
+        if (scrapeSuccessObj instanceof Boolean) {
+            return (Boolean) scrapeSuccessObj;
+        }
+        return rs.getInt("scrape_success") == 1;
+    }
 }
@@ -2,26 +2,36 @@ package com.example.persistence;
 
 import com.example.model.JobLink;
 import com.example.model.JobLinkWithId;
+import com.example.model.ScrapeFailure;
+import javax.sql.DataSource;
 import java.sql.*;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public final class SqliteJobLinkRepository implements JobLinkRepository {
-    private final String jdbcUrl;
+    private static final int LOOKUP_CHUNK = 500;
 
-    public SqliteJobLinkRepository(String jdbcUrl) {
-        this.jdbcUrl = jdbcUrl;
+    private final DataSource dataSource;
+
+    public SqliteJobLinkRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
     public void saveAllIgnoreDuplicates(List<JobLink> links) throws Exception {
-        try (Connection conn = DriverManager.getConnection(jdbcUrl)) {
-            conn.setAutoCommit(false);
+        Database.write(dataSource, conn -> {
             // Use database-agnostic INSERT ... ON CONFLICT for PostgreSQL compatibility
-            String sql = jdbcUrl.contains("postgresql")
-                ? "INSERT INTO job_links(url, host_type, source, discovered_at, status) VALUES (?, ?, ?, ?, 'new') ON CONFLICT (url) DO NOTHING"
-                : "INSERT OR IGNORE INTO job_links(url, host_type, source, discovered_at, status) VALUES (?, ?, ?, ?, 'new')";
+            String sql = Database.isPostgres(conn)
+                ? "INSERT INTO job_links(url, host_type, source, discovered_at, status, posting_key) VALUES (?, ?, ?, ?, 'new', ?) ON CONFLICT (url) DO NOTHING"
+                : "INSERT OR IGNORE INTO job_links(url, host_type, source, discovered_at, status, posting_key) VALUES (?, ?, ?, ?, 'new', ?)";
 
             try (PreparedStatement ps = conn.prepareStatement(sql)) {
                 for (JobLink l : links) {
@@ -30,6 +40,7 @@ public final class SqliteJobLinkRepository implements JobLinkRepository {
                     ps.setString(3, l.source());
                     // Convert Instant to Timestamp for PostgreSQL compatibility
                     ps.setTimestamp(4, java.sql.Timestamp.from(l.discoveredAt()));
+                    ps.setString(5, l.postingKey());
                     System.out.printf(
                             "DBG insert: url=%s hostType=%s source=%s discoveredAt=%s%n",
                             l.url(), l.hostType(), l.source(), l.discoveredAt()
@@ -39,13 +50,13 @@ public final class SqliteJobLinkRepository implements JobLinkRepository {
                 }
                 ps.executeBatch();
             }
-            conn.commit();
-        }
+            return null;
+        });
     }
 
     public List<String> findNewUrls(int limit) {
         String sql = "SELECT url FROM job_links WHERE status='new' LIMIT ?";
-        try (Connection c = DriverManager.getConnection(jdbcUrl);
+        try (Connection c = dataSource.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setInt(1, limit);
             try (ResultSet rs = ps.executeQuery()) {
@@ -58,21 +69,27 @@ public final class SqliteJobLinkRepository implements JobLinkRepository {
 
     public void markVisited(String url) {
         String sql = "UPDATE job_links SET status='visited', last_checked_at=datetime('now'), last_error=NULL WHERE url=?";
-        try (Connection c = DriverManager.getConnection(jdbcUrl);
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, url);
-            ps.executeUpdate();
-        } catch (SQLException e) { throw new RuntimeException(e); }
+        try {
+            Database.write(dataSource, c -> {
+                try (PreparedStatement ps = c.prepareStatement(sql)) {
+                    ps.setString(1, url);
+                    return ps.executeUpdate();
+                }
+            });
+        } catch (Exception e) { throw new RuntimeException(e); }
     }
 
     public void markError(String url, String err) {
         String sql = "UPDATE job_links SET status='error', last_checked_at=datetime('now'), last_error=? WHERE url=?";
-        try (Connection c = DriverManager.getConnection(jdbcUrl);
-             PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, err);
-            ps.setString(2, url);
-            ps.executeUpdate();
-        } catch (SQLException e) { throw new RuntimeException(e); }
+        try {
+            Database.write(dataSource, c -> {
+                try (PreparedStatement ps = c.prepareStatement(sql)) {
+                    ps.setString(1, err);
+                    ps.setString(2, url);
+                    return ps.executeUpdate();
+                }
+            });
+        } catch (Exception e) { throw new RuntimeException(e); }
     }
 
     @Override
@@ -81,38 +98,105 @@ public final class SqliteJobLinkRepository implements JobLinkRepository {
             SELECT id, url, host_type, source, discovered_at, status
             FROM job_links
             WHERE status = 'new'
+               OR (status = 'retry' AND next_attempt_at <= ?)
             LIMIT ?
             """;
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setInt(1, limit);
+            ps.setLong(1, System.currentTimeMillis());
+            ps.setInt(2, limit);
 
-            List<JobLinkWithId> results = new ArrayList<>();
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    // Handle discovered_at: PostgreSQL returns Timestamp, SQLite returns String
-                    Instant discoveredAt;
-                    Object discoveredAtObj = rs.getObject("discovered_at");
-                    if (discoveredAtObj instanceof Timestamp) {
-                        discoveredAt = ((Timestamp) discoveredAtObj).toInstant();
-                    } else {
-                        discoveredAt = Instant.parse(rs.getString("discovered_at"));
-                    }
+            return readLinks(ps);
+        }
+    }
 
-                    results.add(new JobLinkWithId(
-                        rs.getInt("id"),
-                        rs.getString("url"),
-                        rs.getString("host_type"),
-                        rs.getString("source"),
-                        discoveredAt,
-                        rs.getString("status")
-                    ));
-                }
+    @Override
+    public List<JobLinkWithId> claimLinks(String owner, int limit, Duration lease) throws Exception {
+        // PostgreSQL: SKIP LOCKED lets concurrent claimers pass over each other's rows.
+        // SQLite: the claim runs on the single writer in an IMMEDIATE transaction,
+        // which already excludes every other writer, including other processes.
+        String sql = """
+            UPDATE job_links
+            SET lease_owner = ?,
+                lease_expires_at = ?
+            WHERE id IN (
+                SELECT id
+                FROM job_links
+                WHERE (status = 'new' OR (status = 'retry' AND next_attempt_at <= ?))
+                  AND (lease_expires_at IS NULL OR lease_expires_at <= ?)
+                ORDER BY id
+                LIMIT ?
+                %s
+            )
+            RETURNING id, url, host_type, source, discovered_at, status
+            """;
+
+        return Database.write(dataSource, conn -> {
+            long now = System.currentTimeMillis();
+            String lock = Database.isPostgres(conn) ? "FOR UPDATE SKIP LOCKED" : "";
+            try (PreparedStatement ps = conn.prepareStatement(sql.formatted(lock))) {
+                ps.setString(1, owner);
+                ps.setLong(2, now + lease.toMillis());
+                ps.setLong(3, now);
+                ps.setLong(4, now);
+                ps.setInt(5, limit);
+                return readLinks(ps);
+            }
+        });
+    }
+
+    @Override
+    public int releaseClaims(String owner) throws Exception {
+        String sql = """
+            UPDATE job_links
+            SET lease_owner = NULL,
+                lease_expires_at = NULL
+            WHERE lease_owner = ?
+            """;
+
+        return Database.write(dataSource, conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, owner);
+                return ps.executeUpdate();
+            }
+        });
+    }
+
+    private static List<JobLinkWithId> readLinks(PreparedStatement ps) throws SQLException {
+        List<JobLinkWithId> results = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                results.add(new JobLinkWithId(
+                    rs.getInt("id"),
+                    rs.getString("url"),
+                    rs.getString("host_type"),
+                    rs.getString("source"),
+                    toInstant(rs.getObject("discovered_at")),
+                    rs.getString("status")
+                ));
             }
-            return results;
         }
+        return results;
+    }
+
+    /**
+     * Read discovered_at: PostgreSQL returns Timestamp; SQLite returns the epoch
+     * millis that setTimestamp writes, or an ISO-8601 string for older rows.
+     */
+    private static Instant toInstant(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        }
+        if (value instanceof Number millis) {
+            return Instant.ofEpochMilli(millis.longValue());
+        }
+        String text = value.toString();
+        if (text.chars().allMatch(Character::isDigit)) {
+            return Instant.ofEpochMilli(Long.parseLong(text));
+        }
+        return Instant.parse(text);
     }
 
     @Override
@@ -120,17 +204,21 @@ public final class SqliteJobLinkRepository implements JobLinkRepository {
         String sql = """
             UPDATE job_links
             SET status = 'scraped',
-                scraped_at = ?
+                scraped_at = ?,
+                next_attempt_at = NULL,
+                error_class = NULL,
+                lease_owner = NULL,
+                lease_expires_at = NULL
             WHERE id = ?
             """;
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setObject(1, Instant.now());
-            ps.setInt(2, jobLinkId);
-            ps.executeUpdate();
-        }
+        Database.write(dataSource, conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setObject(1, Instant.now());
+                ps.setInt(2, jobLinkId);
+                return ps.executeUpdate();
+            }
+        });
     }
 
     @Override
@@ -139,23 +227,161 @@ public final class SqliteJobLinkRepository implements JobLinkRepository {
             UPDATE job_links
             SET status = 'error',
                 last_error = ?,
-                last_checked_at = ?
+                last_checked_at = ?,
+                lease_owner = NULL,
+                lease_expires_at = NULL
             WHERE id = ?
             """;
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        Database.write(dataSource, conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, errorMessage);
+                ps.setObject(2, Instant.now());
+                ps.setInt(3, jobLinkId);
+                return ps.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public int recordFailures(List<ScrapeFailure> failures) throws Exception {
+        if (failures.isEmpty()) {
+            return 0;
+        }
+
+        String select = "SELECT attempt_count FROM job_links WHERE id = ?";
+        String update = """
+            UPDATE job_links
+            SET status = ?,
+                attempt_count = ?,
+                next_attempt_at = ?,
+                error_class = ?,
+                last_error = ?,
+                last_checked_at = ?,
+                lease_owner = NULL,
+                lease_expires_at = NULL
+            WHERE id = ?
+            """;
+
+        return Database.write(dataSource, conn -> {
+            Instant now = Instant.now();
+            Object checkedAt = Database.isPostgres(conn) ? Timestamp.from(now) : now.toString();
+            int retried = 0;
+            try (PreparedStatement selectPs = conn.prepareStatement(select);
+                 PreparedStatement updatePs = conn.prepareStatement(update)) {
+                for (ScrapeFailure failure : failures) {
+                    int attempts = 1;
+                    selectPs.setInt(1, failure.jobLinkId());
+                    try (ResultSet rs = selectPs.executeQuery()) {
+                        if (rs.next()) {
+                            attempts += rs.getInt(1);
+                        }
+                    }
+
+                    boolean retry = attempts < failure.errorClass().maxAttempts();
+                    updatePs.setString(1, retry ? "retry" : "error");
+                    updatePs.setInt(2, attempts);
+                    if (retry) {
+                        updatePs.setLong(3, now.plus(failure.errorClass().backoff(attempts)).toEpochMilli());
+                        retried++;
+                    } else {
+                        updatePs.setNull(3, Types.BIGINT);
+                    }
+                    updatePs.setString(4, failure.errorClass().code());
+                    updatePs.setString(5, failure.message());
+                    updatePs.setObject(6, checkedAt);
+                    updatePs.setInt(7, failure.jobLinkId());
+                    updatePs.addBatch();
+                }
+                updatePs.executeBatch();
+            }
+            return retried;
+        });
+    }
+
+    @Override
+    public int backfillPostingKeys(Function<String, String> keyOf) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement("SELECT id, url FROM job_links WHERE posting_key IS NULL");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+                keys.add(keyOf.apply(rs.getString(2)));
+            }
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return Database.write(dataSource, conn -> {
+            try (PreparedStatement ps = conn.prepareStatement("UPDATE job_links SET posting_key = ? WHERE id = ?")) {
+                for (int i = 0; i < ids.size(); i++) {
+                    ps.setString(1, keys.get(i));
+                    ps.setInt(2, ids.get(i));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            return ids.size();
+        });
+    }
+
+    @Override
+    public int countLinks() throws Exception {
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement("SELECT COUNT(*) FROM job_links");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
 
-            ps.setString(1, errorMessage);
-            ps.setObject(2, Instant.now());
-            ps.setInt(3, jobLinkId);
-            ps.executeUpdate();
+    @Override
+    public int forEachPostingKey(int afterId, Consumer<String> action) throws Exception {
+        String sql = "SELECT id, posting_key FROM job_links WHERE id > ? AND posting_key IS NOT NULL ORDER BY id";
+        int lastId = afterId;
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setInt(1, afterId);
+            ps.setFetchSize(1000);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    lastId = rs.getInt(1);
+                    action.accept(rs.getString(2));
+                }
+            }
+        }
+        return lastId;
+    }
+
+    @Override
+    public Set<String> findExistingPostingKeys(Collection<String> keys) throws Exception {
+        Set<String> found = new HashSet<>();
+        List<String> all = new ArrayList<>(keys);
+        // Chunked so the IN list stays under the driver's bind parameter limit
+        for (int from = 0; from < all.size(); from += LOOKUP_CHUNK) {
+            List<String> chunk = all.subList(from, Math.min(all.size(), from + LOOKUP_CHUNK));
+            String sql = "SELECT posting_key FROM job_links WHERE posting_key IN ("
+                + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            try (Connection c = dataSource.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        found.add(rs.getString(1));
+                    }
+                }
+            }
         }
+        return found;
     }
 
     public String getJobLinkUrl(int jobLinkId) throws Exception {
         String sql = "SELECT url FROM job_links WHERE id = ?";
-        try (Connection c = DriverManager.getConnection(jdbcUrl);
+        try (Connection c = dataSource.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setInt(1, jobLinkId);
             try (ResultSet rs = ps.executeQuery()) {
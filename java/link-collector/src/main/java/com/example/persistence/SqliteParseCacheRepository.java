@@ -0,0 +1,107 @@
+package com.example.persistence;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.Optional;
+
+/**
+ * SQLite implementation of ParseCacheRepository.
+ * Timestamps are stored as epoch millis so the same SQL works on PostgreSQL.
+ */
+public final class SqliteParseCacheRepository implements ParseCacheRepository {
+    private final DataSource dataSource;
+
+    public SqliteParseCacheRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Optional<String> find(String cacheKey) throws Exception {
+        String select = "SELECT response_json FROM parse_cache WHERE cache_key = ?";
+        String touch = """
+            UPDATE parse_cache
+            SET last_used_at = ?, hit_count = hit_count + 1
+            WHERE cache_key = ?
+            """;
+
+        String json;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(select)) {
+            ps.setString(1, cacheKey);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                json = rs.getString("response_json");
+            }
+        }
+
+        Database.write(dataSource, conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(touch)) {
+                ps.setLong(1, System.currentTimeMillis());
+                ps.setString(2, cacheKey);
+                return ps.executeUpdate();
+            }
+        });
+        return Optional.of(json);
+    }
+
+    @Override
+    public void put(String cacheKey, String model, String promptVersion, String responseJson) throws Exception {
+        String sql = """
+            INSERT INTO parse_cache (
+                cache_key, model, prompt_version, response_json, created_at, last_used_at
+            ) VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (cache_key) DO UPDATE SET
+                response_json = excluded.response_json,
+                last_used_at = excluded.last_used_at
+            """;
+
+        Database.write(dataSource, conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                long now = System.currentTimeMillis();
+                ps.setString(1, cacheKey);
+                ps.setString(2, model);
+                ps.setString(3, promptVersion);
+                ps.setString(4, responseJson);
+                ps.setLong(5, now);
+                ps.setLong(6, now);
+
+                return ps.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public int count() throws Exception {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM parse_cache");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    @Override
+    public int evictToSize(int maxEntries) throws Exception {
+        int excess = count() - maxEntries;
+        if (excess <= 0) {
+            return 0;
+        }
+
+        String sql = """
+            DELETE FROM parse_cache
+            WHERE cache_key IN (
+                SELECT cache_key FROM parse_cache
+                ORDER BY last_used_at ASC
+                LIMIT ?
+            )
+            """;
+
+        return Database.write(dataSource, conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, excess);
+                return ps.executeUpdate();
+            }
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.persistence;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * SQLite implementation of SourceSnapshotRepository.
+ * Uses only SQL shared with PostgreSQL; timestamps are epoch millis.
+ */
+public final class SqliteSourceSnapshotRepository implements SourceSnapshotRepository {
+    private final DataSource dataSource;
+
+    public SqliteSourceSnapshotRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Optional<String> findContentHash(String sourceUrl) throws Exception {
+        String sql = "SELECT content_hash FROM collect_sources WHERE source_url = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, sourceUrl);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? Optional.of(rs.getString(1)) : Optional.empty();
+            }
+        }
+    }
+
+    @Override
+    public Set<String> findRowHashes(String sourceUrl) throws Exception {
+        String sql = "SELECT row_hash FROM collect_source_rows WHERE source_url = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, sourceUrl);
+            Set<String> hashes = new HashSet<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    hashes.add(rs.getString(1));
+                }
+            }
+            return hashes;
+        }
+    }
+
+    @Override
+    public void saveSnapshot(String sourceUrl, String contentHash, int rowCount,
+                             Collection<String> addedRows, Collection<String> removedRows) throws Exception {
+        String insertRow = """
+            INSERT INTO collect_source_rows (source_url, row_hash) VALUES (?, ?)
+            ON CONFLICT (source_url, row_hash) DO NOTHING
+            """;
+        String deleteRow = "DELETE FROM collect_source_rows WHERE source_url = ? AND row_hash = ?";
+        String upsertSource = """
+            INSERT INTO collect_sources (source_url, content_hash, row_count, collected_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (source_url) DO UPDATE SET
+                content_hash = excluded.content_hash,
+                row_count = excluded.row_count,
+                collected_at = excluded.collected_at
+            """;
+
+        Database.write(dataSource, conn -> {
+            try (PreparedStatement insertPs = conn.prepareStatement(insertRow);
+                 PreparedStatement deletePs = conn.prepareStatement(deleteRow);
+                 PreparedStatement sourcePs = conn.prepareStatement(upsertSource)) {
+                for (String hash : addedRows) {
+                    insertPs.setString(1, sourceUrl);
+                    insertPs.setString(2, hash);
+                    insertPs.addBatch();
+                }
+                insertPs.executeBatch();
+
+                for (String hash : removedRows) {
+                    deletePs.setString(1, sourceUrl);
+                    deletePs.setString(2, hash);
+                    deletePs.addBatch();
+                }
+                deletePs.executeBatch();
+
+                sourcePs.setString(1, sourceUrl);
+                sourcePs.setString(2, contentHash);
+                sourcePs.setInt(3, rowCount);
+                sourcePs.setLong(4, System.currentTimeMillis());
+                return sourcePs.executeUpdate();
+            }
+        });
+    }
+}
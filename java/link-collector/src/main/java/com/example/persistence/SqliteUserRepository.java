@@ -3,6 +3,7 @@ package com.example.persistence;
 import com.example.model.User;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import javax.sql.DataSource;
 import java.sql.*;
 import java.time.Instant;
 import java.util.Optional;
@@ -11,11 +12,11 @@ import java.util.Optional;
  * SQLite implementation of UserRepository.
  */
 public final class SqliteUserRepository implements UserRepository {
-    private final String jdbcUrl;
+    private final DataSource dataSource;
     private final ObjectMapper objectMapper;
 
-    public SqliteUserRepository(String jdbcUrl) {
-        this.jdbcUrl = jdbcUrl;
+    public SqliteUserRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
         this.objectMapper = new ObjectMapper();
     }
 
@@ -29,30 +30,30 @@ public final class SqliteUserRepository implements UserRepository {
             ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             """;
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, user.email());
-            ps.setString(2, user.passwordHash());
-            ps.setString(3, user.fullName());
-            ps.setString(4, user.resumePath());
-            ps.setString(5, user.resumeText());
-            ps.setString(6, user.skills());
-            ps.setString(7, user.preferences());
-            ps.setString(8, user.graduationDate());
-            ps.setString(9, user.experienceLevel());
-            ps.setTimestamp(10, Timestamp.from(user.createdAt()));
-            ps.setTimestamp(11, Timestamp.from(user.updatedAt()));
-
-            ps.executeUpdate();
-        }
+        Database.write(dataSource, conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, user.email());
+                ps.setString(2, user.passwordHash());
+                ps.setString(3, user.fullName());
+                ps.setString(4, user.resumePath());
+                ps.setString(5, user.resumeText());
+                ps.setString(6, user.skills());
+                ps.setString(7, user.preferences());
+                ps.setString(8, user.graduationDate());
+                ps.setString(9, user.experienceLevel());
+                ps.setTimestamp(10, Timestamp.from(user.createdAt()));
+                ps.setTimestamp(11, Timestamp.from(user.updatedAt()));
+
+                return ps.executeUpdate();
+            }
+        });
     }
 
     @Override
     public Optional<User> findByEmail(String email) throws Exception {
         String sql = "SELECT * FROM users WHERE email = ?";
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, email);
@@ -70,7 +71,7 @@ public final class SqliteUserRepository implements UserRepository {
     public Optional<User> findById(Integer id) throws Exception {
         String sql = "SELECT * FROM users WHERE id = ?";
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, id);
@@ -95,30 +96,30 @@ public final class SqliteUserRepository implements UserRepository {
             WHERE id = ?
             """;
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, user.email());
-            ps.setString(2, user.passwordHash());
-            ps.setString(3, user.fullName());
-            ps.setString(4, user.resumePath());
-            ps.setString(5, user.resumeText());
-            ps.setString(6, user.skills());
-            ps.setString(7, user.preferences());
-            ps.setString(8, user.graduationDate());
-            ps.setString(9, user.experienceLevel());
-            ps.setTimestamp(10, Timestamp.from(Instant.now()));
-            ps.setInt(11, user.id());
-
-            ps.executeUpdate();
-        }
+        Database.write(dataSource, conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, user.email());
+                ps.setString(2, user.passwordHash());
+                ps.setString(3, user.fullName());
+                ps.setString(4, user.resumePath());
+                ps.setString(5, user.resumeText());
+                ps.setString(6, user.skills());
+                ps.setString(7, user.preferences());
+                ps.setString(8, user.graduationDate());
+                ps.setString(9, user.experienceLevel());
+                ps.setTimestamp(10, Timestamp.from(Instant.now()));
+                ps.setInt(11, user.id());
+
+                return ps.executeUpdate();
+            }
+        });
     }
 
     @Override
     public boolean existsByEmail(String email) throws Exception {
         String sql = "SELECT COUNT(*) FROM users WHERE email = ?";
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, email);
@@ -0,0 +1,203 @@
+package com.example.persistence;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serializes all writes to a SQLite database through one thread.
+ *
+ * SQLite allows a single writer at a time, so concurrent writers on pooled
+ * connections only contend for the lock and fail with SQLITE_BUSY. Instead,
+ * callers queue a {@link WriteOperation} and wait for its result, and the
+ * writer thread runs whatever has queued up in one transaction on its own
+ * connection (group commit). Each operation gets a savepoint, so a failing
+ * operation is rolled back and reported to its caller without affecting the
+ * others in the group.
+ */
+public final class SqliteWriter {
+    static final int MAX_GROUP_SIZE = 256;
+
+    private final String jdbcUrl;
+    private final Properties properties;
+    private final BlockingQueue<Task<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private final AtomicLong operations = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile boolean closed;
+    private Connection conn;
+
+    private record Task<T>(WriteOperation<T> operation, CompletableFuture<T> result) {}
+
+    /**
+     * Point-in-time writer counters; operations / commits is the average group size.
+     */
+    public record Stats(int queued, long operations, long commits, long failures) {
+        @Override
+        public String toString() {
+            double perCommit = commits == 0 ? 0.0 : (double) operations / commits;
+            return String.format("queued=%d ops=%d commits=%d opsPerCommit=%.1f failures=%d",
+                queued, operations, commits, perCommit, failures);
+        }
+    }
+
+    SqliteWriter(String jdbcUrl, Properties properties) {
+        this.jdbcUrl = jdbcUrl;
+        this.properties = new Properties();
+        this.properties.putAll(properties);
+        // Take the write lock when the group starts rather than on its first write
+        this.properties.setProperty("transaction_mode", "IMMEDIATE");
+        this.thread = new Thread(this::run, "sqlite-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queue an operation and wait for it to be committed.
+     * Exceptions thrown by the operation are rethrown to the caller.
+     */
+    <T> T execute(WriteOperation<T> operation) throws Exception {
+        if (Thread.currentThread() == thread) {
+            return operation.apply(conn); // Nested write: already inside the group's transaction
+        }
+        if (closed) {
+            throw new IllegalStateException("SQLite writer is closed");
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        queue.add(new Task<>(operation, result));
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    Stats stats() {
+        return new Stats(queue.size(), operations.get(), commits.get(), failures.get());
+    }
+
+    /**
+     * Finish queued writes, then stop the thread and close the connection.
+     */
+    void close() throws InterruptedException {
+        closed = true;
+        thread.interrupt();
+        thread.join();
+
+        Task<?> late;
+        while ((late = queue.poll()) != null) {
+            late.result().completeExceptionally(new IllegalStateException("SQLite writer is closed"));
+        }
+    }
+
+    private void run() {
+        List<Task<?>> group = new ArrayList<>(MAX_GROUP_SIZE);
+        while (true) {
+            try {
+                if (closed) {
+                    if (queue.drainTo(group, MAX_GROUP_SIZE) == 0) {
+                        break;
+                    }
+                } else {
+                    group.add(queue.take());
+                    queue.drainTo(group, MAX_GROUP_SIZE - 1);
+                }
+            } catch (InterruptedException e) {
+                continue; // close() was called; drain what is left
+            }
+
+            runGroup(group);
+            group.clear();
+        }
+        closeConnection();
+    }
+
+    private void runGroup(List<Task<?>> group) {
+        List<Object> results = new ArrayList<>(group.size());
+        try {
+            Connection c = connection();
+            c.setAutoCommit(false);
+            try {
+                for (Task<?> task : group) {
+                    results.add(runTask(c, task));
+                }
+                c.commit();
+            } catch (Exception e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
+            }
+        } catch (Exception e) {
+            System.err.println("SQLite writer: group of " + group.size() + " failed: " + e.getMessage());
+            failures.addAndGet(group.size());
+            closeConnection(); // Reopen on the next group
+            for (Task<?> task : group) {
+                task.result().completeExceptionally(e);
+            }
+            return;
+        }
+
+        commits.incrementAndGet();
+        operations.addAndGet(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            complete(group.get(i), results.get(i));
+        }
+    }
+
+    /**
+     * Run one operation under a savepoint. Its own failure completes its future
+     * and is contained; connection-level errors propagate and fail the group.
+     */
+    private Object runTask(Connection c, Task<?> task) throws SQLException {
+        Savepoint savepoint = c.setSavepoint();
+        try {
+            Object result = task.operation().apply(c);
+            c.releaseSavepoint(savepoint);
+            return result;
+        } catch (Exception e) {
+            c.rollback(savepoint);
+            c.releaseSavepoint(savepoint);
+            failures.incrementAndGet();
+            task.result().completeExceptionally(e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void complete(Task<T> task, Object result) {
+        task.result().complete((T) result); // No-op if the task already failed
+    }
+
+    private Connection connection() throws SQLException {
+        if (conn == null || conn.isClosed()) {
+            conn = DriverManager.getConnection(jdbcUrl, properties);
+        }
+        return conn;
+    }
+
+    private void closeConnection() {
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                System.err.println("SQLite writer: failed to close connection: " + e.getMessage());
+            }
+            conn = null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.persistence;
+
+import java.sql.Connection;
+
+/**
+ * A unit of database writes, run inside a transaction owned by the caller.
+ * Implementations must not commit, roll back or change auto-commit.
+ */
+@FunctionalInterface
+public interface WriteOperation<T> {
+    T apply(Connection conn) throws Exception;
+}
@@ -0,0 +1,180 @@
+package com.example.scrape;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+
+/**
+ * A fixed set of warm browser sessions that outlive a single scrape run.
+ *
+ * Playwright objects must stay on the thread that created them, so each
+ * session lives on its own browser thread and is launched once, either when
+ * the pool starts or, for a lazy pool, on its first task. Callers hand work
+ * to whichever session is free and wait for the result.
+ * A session whose browser has died is relaunched before its next task.
+ */
+public final class BrowserPool implements AutoCloseable {
+    private final boolean headless;
+    private final boolean eager;
+    private final BlockingQueue<Task<?>> tasks = new LinkedBlockingQueue<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * No browser session could run the work: the pool is closed or Chromium failed to launch.
+     */
+    public static final class UnavailableException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        UnavailableException(String message) {
+            super(message);
+        }
+    }
+
+    private record Task<T>(Function<PageFetcher, T> work, CompletableFuture<T> result) {
+        void run(PageFetcher fetcher) {
+            try {
+                result.complete(work.apply(fetcher));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Start the pool and launch its browsers in the background.
+     * @param headless run the browsers headless
+     * @param size number of browser sessions
+     */
+    public BrowserPool(boolean headless, int size) {
+        this(headless, size, true);
+    }
+
+    /**
+     * Start the pool.
+     * @param headless run the browsers headless
+     * @param size number of browser sessions
+     * @param eager launch the browsers now rather than on first use
+     */
+    public BrowserPool(boolean headless, int size, boolean eager) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Browser pool size must be at least 1");
+        }
+        this.headless = headless;
+        this.eager = eager;
+        for (int i = 1; i <= size; i++) {
+            Thread thread = new Thread(this::runSession, "browser-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    public int size() {
+        return threads.size();
+    }
+
+    /**
+     * Navigate to a page on a free session and return its readable text.
+     */
+    public String fetchText(String url) throws Exception {
+        return run(fetcher -> fetcher.fetchText(url));
+    }
+
+    /**
+     * Navigate to a page on a free session and return its text and rendered HTML.
+     */
+    PageContent fetch(String url) throws Exception {
+        return run(fetcher -> fetcher.fetch(url));
+    }
+
+    /**
+     * Run work against a free browser session and wait for its result.
+     */
+    <T> T run(Function<PageFetcher, T> work) throws Exception {
+        if (closed) {
+            throw new UnavailableException("Browser pool is closed");
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        tasks.add(new Task<>(work, result));
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void runSession() {
+        String name = Thread.currentThread().getName();
+        PageFetcher fetcher = eager ? launch(name) : null;
+        try {
+            while (!closed) {
+                Task<?> task = tasks.take();
+                if (fetcher == null || !fetcher.isConnected()) {
+                    closeQuietly(fetcher);
+                    fetcher = launch(name);
+                }
+                if (fetcher == null) {
+                    task.result().completeExceptionally(new UnavailableException("Browser failed to launch"));
+                    continue;
+                }
+                task.run(fetcher);
+            }
+        } catch (InterruptedException e) {
+            // Pool closed
+        } finally {
+            closeQuietly(fetcher);
+        }
+    }
+
+    private PageFetcher launch(String name) {
+        try {
+            return new PageFetcher(headless);
+        } catch (RuntimeException e) {
+            System.err.println("[" + name + "] Browser launch failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void closeQuietly(PageFetcher fetcher) {
+        if (fetcher != null) {
+            try {
+                fetcher.close();
+            } catch (RuntimeException e) {
+                // Browser already gone
+            }
+        }
+    }
+
+    /**
+     * Close every browser session. Work not yet picked up fails.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        Task<?> task;
+        while ((task = tasks.poll()) != null) {
+            task.result().completeExceptionally(new UnavailableException("Browser pool is closed"));
+        }
+    }
+}
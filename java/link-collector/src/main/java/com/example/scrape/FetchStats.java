@@ -0,0 +1,72 @@
+package com.example.scrape;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts how job pages were fetched in a scrape run: fast-path hits and
+ * misses per host type, and how many pages needed the browser.
+ */
+final class FetchStats {
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> misses = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> missReasons = new ConcurrentHashMap<>();
+    private final AtomicInteger browserFetches = new AtomicInteger();
+
+    void recordFastPath(String hostType, HttpPageFetcher.Result result) {
+        String key = hostType == null ? "OTHER" : hostType;
+        if (result.isHit()) {
+            hits.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        } else {
+            misses.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            String reason = result.miss().startsWith("status ") ? "status" : result.miss();
+            missReasons.computeIfAbsent(reason, k -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    void recordBrowser() {
+        browserFetches.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        int hitCount = sum(hits);
+        int attempts = hitCount + sum(misses);
+        StringBuilder sb = new StringBuilder(String.format("fast path %d/%d hits (%.1f%%), %d browser fetch(es)",
+            hitCount, attempts, attempts == 0 ? 0.0 : hitCount * 100.0 / attempts, browserFetches.get()));
+
+        Map<String, String> byHost = new TreeMap<>();
+        for (String host : union()) {
+            int h = count(hits, host);
+            byHost.put(host, h + "/" + (h + count(misses, host)));
+        }
+        if (!byHost.isEmpty()) {
+            sb.append("; by host ").append(byHost);
+        }
+        if (!missReasons.isEmpty()) {
+            Map<String, Integer> reasons = new TreeMap<>();
+            missReasons.forEach((reason, n) -> reasons.put(reason, n.get()));
+            sb.append("; misses ").append(reasons);
+        }
+        return sb.toString();
+    }
+
+    private Set<String> union() {
+        Set<String> hosts = new TreeSet<>(hits.keySet());
+        hosts.addAll(misses.keySet());
+        return hosts;
+    }
+
+    private static int count(Map<String, AtomicInteger> counts, String key) {
+        AtomicInteger n = counts.get(key);
+        return n == null ? 0 : n.get();
+    }
+
+    private static int sum(Map<String, AtomicInteger> counts) {
+        return counts.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.scrape;
+
+import com.example.classify.HostType;
+
+/**
+ * How a job page is fetched, chosen per host type.
+ */
+public enum FetchStrategy {
+    /** Plain HTTP GET first; the browser only if the static page is too thin. */
+    HTTP_FIRST,
+    /** Always render in the browser (client-side apps, bot walls). */
+    BROWSER;
+
+    /**
+     * Greenhouse, Lever and most smaller ATSs render postings server-side or
+     * embed them as JSON-LD. Workday, iCIMS, Eightfold and Wellfound serve an
+     * empty shell or block plain clients, so a GET there is wasted.
+     */
+    public static FetchStrategy forHostType(String hostType) {
+        HostType type;
+        try {
+            type = hostType == null ? HostType.OTHER : HostType.valueOf(hostType);
+        } catch (IllegalArgumentException e) {
+            type = HostType.OTHER;
+        }
+        return switch (type) {
+            case WORKDAY, ICIMS, EIGHTFOLD, WELLFOUND -> BROWSER;
+            default -> HTTP_FIRST;
+        };
+    }
+}
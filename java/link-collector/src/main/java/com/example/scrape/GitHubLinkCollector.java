@@ -2,101 +2,122 @@ package com.example.scrape;
 
 import com.example.model.JobLead;
 import com.microsoft.playwright.*;
-import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import com.microsoft.playwright.options.WaitUntilState;
 
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-
-public final class GitHubLinkCollector {
+import java.util.Map;
+
+/**
+ * Renders a GitHub README in the browser and reads its first table.
+ * Slow, but sees exactly what a visitor sees; {@link ReadmeTableCollector}
+ * falls back to it when the raw README can't be parsed.
+ */
+public final class GitHubLinkCollector implements LeadCollector {
     private final boolean headless;
+    private final BrowserPool browsers;
+
+    public GitHubLinkCollector(boolean headless) {
+        this.headless = headless;
+        this.browsers = null;
+    }
 
-    public GitHubLinkCollector(boolean headless) { this.headless = headless; }
+    // reuse a warm browser session instead of launching one per collect
+    public GitHubLinkCollector(BrowserPool browsers) {
+        this.headless = true;
+        this.browsers = browsers;
+    }
 
     // crawl the Simplify README table and return curated job leads.
-    public List<JobLead> collect(String readmeUrl) {
+    @Override
+    public List<JobLead> collect(String readmeUrl) throws Exception {
+        if (browsers != null) {
+            return browsers.run(fetcher -> {
+                try (Page page = fetcher.newPage()) {
+                    return collect(page, readmeUrl);
+                }
+            });
+        }
+
         try (Playwright pw = Playwright.create();
              Browser browser = pw.chromium().launch(
                      new BrowserType.LaunchOptions().setHeadless(headless)
              );
              BrowserContext ctx = browser.newContext();
              Page page = ctx.newPage()) {
+            return collect(page, readmeUrl);
+        }
+    }
 
-            page.navigate(readmeUrl, new Page.NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED));
-            page.waitForLoadState(LoadState.NETWORKIDLE);
-
-            // README can render in #readme or article.markdown-body
-            Locator table = page.locator("div#readme table, article.markdown-body table").first();
-            if (table.count() == 0) {
-                System.out.println("No table found on page: " + readmeUrl);
-                return List.of();
-            }
+    // Reads every row in one call instead of a Locator round-trip per cell
+    private static final String READ_ROWS = """
+            table => Array.from(table.querySelectorAll('tbody > tr')).map(tr => {
+                const cells = tr.querySelectorAll('td');
+                if (cells.length < 4) return null;
+                const anchor = cells[0].querySelector('a');
+                return {
+                    company: cells[0].innerText.trim(),
+                    companyAnchor: anchor ? anchor.innerText.trim() : null,
+                    role: cells[1].innerText.trim(),
+                    location: cells[2].innerText.trim(),
+                    hrefs: Array.from(cells[3].querySelectorAll('a[href]')).map(a => a.getAttribute('href'))
+                };
+            })
+            """;
+
+    private static List<JobLead> collect(Page page, String readmeUrl) {
+        page.navigate(readmeUrl, new Page.NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED));
+
+        // README can render in #readme or article.markdown-body
+        Locator table = page.locator("div#readme table, article.markdown-body table").first();
+        try {
+            table.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.ATTACHED).setTimeout(15000));
+        } catch (TimeoutError e) {
+            System.out.println("No table found on page: " + readmeUrl);
+            return List.of();
+        }
 
-            var leads = new ArrayList<JobLead>();
-            String lastCompany = null;
-
-            for (Locator row : table.locator("tbody > tr").all()) {
-                Locator cells = row.locator("td");
-                int n = cells.count();
-                if (n < 4) continue; // need at least Company, Role, Location, Application
-
-                // cols
-                String company = textTrim(cells.nth(0));
-                String role    = textTrim(cells.nth(1));
-                String location= textWithBreaks(cells.nth(2)); // keep multiple cities
-
-                if (company != null && company.startsWith("↳")) {
-                    company = lastCompany;
-                } else if (company != null && !company.isBlank()) {
-                    // Often the company cell contains an <a>; prefer the anchor text if present
-                    String companyAnchor = anchorText(cells.nth(0));
-                    if (companyAnchor != null && !companyAnchor.isBlank()) company = companyAnchor;
-                    lastCompany = company;
-                }
+        var leads = new ArrayList<JobLead>();
+        String lastCompany = null;
 
-                // in app cell, grab first non-simplify link
-                String applyUrl = firstNonSimplifyHref(cells.nth(3));
-                if (applyUrl == null) continue; // skip rows without a real apply link
+        for (Object item : (List<?>) table.evaluate(READ_ROWS)) {
+            if (!(item instanceof Map<?, ?> row)) continue; // need at least Company, Role, Location, Application
 
-                if (role == null || role.isBlank()) continue;
-                if (company == null || company.isBlank()) continue;
+            // cols
+            String company = (String) row.get("company");
+            String role    = (String) row.get("role");
+            String location= (String) row.get("location"); // innerText keeps multiple cities on separate lines
 
-                leads.add(new JobLead(company, role, location, applyUrl, readmeUrl));
+            if (company != null && company.startsWith("↳")) {
+                company = lastCompany;
+            } else if (company != null && !company.isBlank()) {
+                // Often the company cell contains an <a>; prefer the anchor text if present
+                String companyAnchor = (String) row.get("companyAnchor");
+                if (companyAnchor != null && !companyAnchor.isBlank()) company = companyAnchor;
+                lastCompany = company;
             }
 
-            return leads;
-        }
-    }
-
-    // ---------- small helper methds ----------
+            // in app cell, grab first non-simplify link
+            String applyUrl = firstNonSimplifyHref((List<?>) row.get("hrefs"));
+            if (applyUrl == null) continue; // skip rows without a real apply link
 
-    private static String textTrim(Locator cell) {
-        if (cell.count() == 0) return null;
-        try {
-            String t = cell.innerText();
-            return t == null ? null : t.trim();
-        } catch (PlaywrightException e) { return null; }
-    }
+            if (role == null || role.isBlank()) continue;
+            if (company == null || company.isBlank()) continue;
 
-    // Preserve line breaks from <br> by using innerText()
-    private static String textWithBreaks(Locator cell) { return textTrim(cell); }
+            leads.add(new JobLead(company, role, location, applyUrl, readmeUrl));
+        }
 
-    // If a company cell has an anchor, return its text
-    private static String anchorText(Locator cell) {
-        Locator a = cell.locator("a").first();
-        if (a.count() == 0) return null;
-        try {
-            String t = a.innerText();
-            return t == null ? null : t.trim();
-        } catch (PlaywrightException e) { return null; }
+        return leads;
     }
 
-    // Find the first <a> whose href does NOT start with simplify.
-    private static String firstNonSimplifyHref(Locator cell) {
-        for (Locator a : cell.locator("a[href]").all()) {
-            String href = a.getAttribute("href");
-            if (href == null) continue;
+    // ---------- small helper methds ----------
+
+    // Find the first href that does NOT point at simplify.
+    private static String firstNonSimplifyHref(List<?> hrefs) {
+        if (hrefs == null) return null;
+        for (Object value : hrefs) {
+            if (!(value instanceof String href)) continue;
             String lower = href.toLowerCase();
             if (lower.contains("simplify.jobs")) continue;
             return href;
@@ -105,7 +126,7 @@ public final class GitHubLinkCollector {
     }
 
     // for quick testing
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
         boolean headless = Boolean.parseBoolean(System.getenv().getOrDefault("HEADLESS", "true"));
         String url = args.length > 0 ? args[0]
                 : "https://github.com/SimplifyJobs/Summer2026-Internships/blob/dev/README.md#-software-engineering-internship-roles";
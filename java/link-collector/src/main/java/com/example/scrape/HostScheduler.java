@@ -0,0 +1,332 @@
+package com.example.scrape;
+
+import com.example.classify.HostClassifier;
+import com.example.classify.HostPolicy;
+import com.example.classify.HostType;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Hands out URLs to fetch so that no single host is hammered.
+ *
+ * Work is queued per host and handed out round-robin across hosts, so a run
+ * with many hosts keeps every worker busy while each host sees a polite rate.
+ * A host is only eligible when it has a token in its bucket, is below its
+ * in-flight limit and, for multi-tenant ATSs, when its host type's shared
+ * bucket has a token too. Limits come from {@link HostPolicy}.
+ *
+ * Callers report how each request went. Throttling (429/403) and timeouts
+ * slow the host down by raising a penalty that divides its rate; throttled
+ * work is requeued behind a cool-off, a bounded number of times. Successes
+ * let the penalty decay back to the base rate.
+ *
+ * Host state outlives a run, so a host that throttled us stays slowed down
+ * for the next one.
+ *
+ * @param <T> work item, mapped to its URL by the function given at construction
+ */
+public final class HostScheduler<T> {
+    static final int MAX_THROTTLE_RETRIES = 2;
+    static final double MAX_PENALTY = 64.0;
+    static final long MIN_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    // Each success removes a tenth of the remaining penalty
+    private static final double RECOVERY = 0.9;
+
+    /**
+     * How a request to a host went.
+     */
+    public enum Outcome {
+        /** The host served the page. */
+        SUCCESS,
+        /** The request failed for a reason that says nothing about load (404, parse error). */
+        FAILURE,
+        /** The request timed out. */
+        TIMEOUT,
+        /** The host refused with 429 or 403. */
+        THROTTLED
+    }
+
+    private final Function<T, String> urlOf;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private final Map<String, Host> hosts = new HashMap<>();
+    private final List<Host> ring = new ArrayList<>();
+    private final Map<HostType, Bucket> typeBuckets = new EnumMap<>(HostType.class);
+    private final Map<T, Integer> throttleRetries = new HashMap<>();
+    private int cursor;
+    private int queued;
+    private int inFlight;
+
+    private int throttled;
+    private int timeouts;
+    private int requeued;
+
+    public HostScheduler(Function<T, String> urlOf) {
+        this.urlOf = urlOf;
+    }
+
+    public void submitAll(Collection<? extends T> items) {
+        lock.lock();
+        try {
+            for (T item : items) {
+                Host host = hosts.get(hostOf(item));
+                if (host == null) {
+                    host = newHost(hostOf(item));
+                }
+                host.queue.add(item);
+                queued++;
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take the next item whose host may be fetched now, waiting until one is.
+     * The caller must report the result with {@link #complete}.
+     * @return the item, or null once nothing is queued or in flight
+     */
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                if (queued == 0 && inFlight == 0) {
+                    changed.signalAll();
+                    return null;
+                }
+
+                long now = System.nanoTime();
+                long wait = Long.MAX_VALUE;
+                for (int i = 0; i < ring.size(); i++) {
+                    int index = (cursor + i) % ring.size();
+                    Host host = ring.get(index);
+                    if (host.queue.isEmpty() || host.inFlight >= host.policy.maxInFlight()) {
+                        continue;
+                    }
+
+                    Bucket typeBucket = typeBuckets.get(host.type);
+                    long ready = Math.max(host.nanosUntilReady(now),
+                        typeBucket == null ? 0 : typeBucket.nanosUntilToken(now, 1.0));
+                    if (ready > 0) {
+                        wait = Math.min(wait, ready);
+                        continue;
+                    }
+
+                    host.bucket.tokens -= 1;
+                    if (typeBucket != null) {
+                        typeBucket.tokens -= 1;
+                    }
+                    host.inFlight++;
+                    inFlight++;
+                    queued--;
+                    cursor = index + 1;
+                    return host.queue.poll();
+                }
+
+                // Nothing eligible: sleep until a token is due, or until work completes
+                if (wait == Long.MAX_VALUE) {
+                    changed.await();
+                } else {
+                    changed.awaitNanos(wait);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Report how a taken item went and release its in-flight slot.
+     * @return true if the item was throttled and has been queued again;
+     *         the caller should not record a result for it
+     */
+    public boolean complete(T item, Outcome outcome) {
+        lock.lock();
+        try {
+            Host host = hosts.get(hostOf(item));
+            host.inFlight--;
+            inFlight--;
+
+            long now = System.nanoTime();
+            switch (outcome) {
+                case SUCCESS -> host.penalty = Math.max(1.0, host.penalty * RECOVERY);
+                case FAILURE -> { }
+                case TIMEOUT -> {
+                    timeouts++;
+                    host.penalty = Math.min(MAX_PENALTY, host.penalty * 1.5);
+                }
+                case THROTTLED -> {
+                    throttled++;
+                    host.penalty = Math.min(MAX_PENALTY, host.penalty * 2);
+                    host.bucket.tokens = 0;
+                    long cooldown = (long) (host.penalty / host.policy.requestsPerSecond() * 1e9);
+                    host.notBefore = now + Math.max(cooldown, MIN_COOLDOWN_NANOS);
+                }
+            }
+
+            boolean retry = outcome == Outcome.THROTTLED
+                && throttleRetries.merge(item, 1, Integer::sum) <= MAX_THROTTLE_RETRIES;
+            if (retry) {
+                host.queue.add(item);
+                queued++;
+                requeued++;
+            } else {
+                throttleRetries.remove(item);
+                if (host.isIdle(now)) {
+                    removeHost(host);
+                }
+            }
+            changed.signalAll();
+            return retry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop queued work and reset the counters; host backoff is kept.
+     * Call between runs so items a previous run left behind are not fetched twice.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            for (Host host : new ArrayList<>(ring)) {
+                queued -= host.queue.size();
+                host.queue.clear();
+                if (host.isIdle(System.nanoTime())) {
+                    removeHost(host);
+                }
+            }
+            throttleRetries.clear();
+            throttled = 0;
+            timeouts = 0;
+            requeued = 0;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            Map<String, String> backoff = new TreeMap<>();
+            for (Host host : ring) {
+                if (host.penalty > 1.0) {
+                    backoff.put(host.name, String.format("x%.1f", host.penalty));
+                }
+            }
+            return String.format("%d throttled, %d timed out, %d requeued; hosts backing off %s",
+                throttled, timeouts, requeued, backoff);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String hostOf(T item) {
+        try {
+            String host = URI.create(urlOf.apply(item)).getHost();
+            return host == null ? "" : host.toLowerCase();
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    private Host newHost(String name) {
+        HostType type = HostClassifier.classify(name);
+        HostPolicy policy = HostPolicy.forHostType(type);
+        if (policy.typeRequestsPerSecond() > 0) {
+            typeBuckets.computeIfAbsent(type, t -> new Bucket(policy.typeRequestsPerSecond(),
+                (int) Math.ceil(policy.typeRequestsPerSecond())));
+        }
+        Host host = new Host(name, type, policy);
+        hosts.put(name, host);
+        ring.add(host);
+        return host;
+    }
+
+    private void removeHost(Host host) {
+        int index = ring.indexOf(host);
+        ring.remove(index);
+        if (index < cursor) {
+            cursor--;
+        }
+        hosts.remove(host.name);
+    }
+
+    /**
+     * Queue and politeness state of one host. Guarded by the scheduler lock.
+     */
+    private final class Host {
+        final String name;
+        final HostType type;
+        final HostPolicy policy;
+        final Bucket bucket;
+        final ArrayDeque<T> queue = new ArrayDeque<>();
+        int inFlight;
+        double penalty = 1.0;
+        long notBefore = Long.MIN_VALUE;
+
+        Host(String name, HostType type, HostPolicy policy) {
+            this.name = name;
+            this.type = type;
+            this.policy = policy;
+            this.bucket = new Bucket(policy.requestsPerSecond(), policy.burst());
+        }
+
+        long nanosUntilReady(long now) {
+            long cooling = notBefore == Long.MIN_VALUE ? 0 : notBefore - now;
+            return Math.max(Math.max(cooling, 0), bucket.nanosUntilToken(now, penalty));
+        }
+
+        /**
+         * Nothing queued or running and no backoff to remember.
+         */
+        boolean isIdle(long now) {
+            return queue.isEmpty() && inFlight == 0 && penalty == 1.0
+                && (notBefore == Long.MIN_VALUE || now >= notBefore);
+        }
+    }
+
+    /**
+     * Token bucket refilled continuously at rate / penalty tokens per second.
+     */
+    private static final class Bucket {
+        final double rate;
+        final int capacity;
+        double tokens;
+        long refilledAt = System.nanoTime();
+
+        Bucket(double rate, int capacity) {
+            this.rate = rate;
+            this.capacity = capacity;
+            this.tokens = capacity;
+        }
+
+        long nanosUntilToken(long now, double penalty) {
+            double effectiveRate = rate / penalty;
+            tokens = Math.min(capacity, tokens + (now - refilledAt) / 1e9 * effectiveRate);
+            refilledAt = now;
+            if (tokens >= 1.0) {
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1.0 - tokens) / effectiveRate * 1e9));
+        }
+    }
+}
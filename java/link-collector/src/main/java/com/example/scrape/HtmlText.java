@@ -0,0 +1,140 @@
+package com.example.scrape;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plain-text extraction from static HTML, for pages fetched without a browser.
+ *
+ * This is not a general HTML parser: it drops non-content elements, turns
+ * block-level tags into line breaks, strips the remaining tags and decodes
+ * entities. Like PageFetcher, it prefers the main or article element when
+ * that holds enough text, and falls back to the whole body.
+ */
+final class HtmlText {
+    static final int MIN_CONTENT_CHARS = 500;
+
+    private static final Pattern COMMENT = Pattern.compile("<!--.*?-->", Pattern.DOTALL);
+    private static final Pattern NON_CONTENT = Pattern.compile(
+        "<(script|style|noscript|svg|template|head|iframe)\\b[^>]*>.*?</\\1\\s*>",
+        Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern JSON_LD = Pattern.compile(
+        "<script\\b[^>]*type\\s*=\\s*[\"']?application/ld\\+json[\"']?[^>]*>(.*?)</script\\s*>",
+        Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern BLOCK_TAG = Pattern.compile(
+        "</?(p|div|br|li|ul|ol|h[1-6]|tr|table|section|article|main|header|footer|blockquote|pre|hr|dt|dd)\\b[^>]*>",
+        Pattern.CASE_INSENSITIVE);
+    private static final Pattern TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern ENTITY = Pattern.compile("&(#[0-9]+|#[xX][0-9a-fA-F]+|[a-zA-Z]+);");
+    private static final Pattern SPACES = Pattern.compile("[ \\t\\x0B\\f\\r\\u00A0]+");
+    private static final Pattern BLANK_LINES = Pattern.compile("\\n\\s*\\n+");
+
+    private static final Map<String, String> NAMED_ENTITIES = Map.ofEntries(
+        Map.entry("amp", "&"), Map.entry("lt", "<"), Map.entry("gt", ">"),
+        Map.entry("quot", "\""), Map.entry("apos", "'"), Map.entry("nbsp", " "),
+        Map.entry("ndash", "–"), Map.entry("mdash", "—"), Map.entry("hellip", "…"),
+        Map.entry("lsquo", "‘"), Map.entry("rsquo", "’"), Map.entry("ldquo", "“"),
+        Map.entry("rdquo", "”"), Map.entry("bull", "•"), Map.entry("middot", "·"),
+        Map.entry("copy", "©"), Map.entry("reg", "®"), Map.entry("trade", "™"));
+
+    private HtmlText() {}
+
+    /**
+     * Readable text of a page, preferring its main content element.
+     */
+    static String pageText(String html) {
+        String cleaned = NON_CONTENT.matcher(COMMENT.matcher(html).replaceAll("")).replaceAll("");
+        for (String element : List.of("main", "article")) {
+            String content = firstElement(cleaned, element);
+            if (content != null) {
+                String text = toText(content);
+                if (text.length() > MIN_CONTENT_CHARS) {
+                    return text;
+                }
+            }
+        }
+        String body = firstElement(cleaned, "body");
+        return toText(body != null ? body : cleaned);
+    }
+
+    /**
+     * Text of an HTML fragment, such as a description field embedded in JSON.
+     */
+    static String fragmentText(String html) {
+        return toText(NON_CONTENT.matcher(COMMENT.matcher(html).replaceAll("")).replaceAll(""));
+    }
+
+    /**
+     * Raw contents of every application/ld+json script on the page.
+     */
+    static List<String> jsonLdBlocks(String html) {
+        List<String> blocks = new ArrayList<>();
+        Matcher m = JSON_LD.matcher(html);
+        while (m.find()) {
+            String block = m.group(1).trim();
+            if (!block.isEmpty()) {
+                blocks.add(block);
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Decode HTML character references.
+     */
+    static String decodeEntities(String text) {
+        if (text.indexOf('&') < 0) {
+            return text;
+        }
+        Matcher m = ENTITY.matcher(text);
+        StringBuilder sb = new StringBuilder(text.length());
+        while (m.find()) {
+            m.appendReplacement(sb, Matcher.quoteReplacement(decodeEntity(m.group(1), m.group())));
+        }
+        m.appendTail(sb);
+        return sb.toString();
+    }
+
+    private static String decodeEntity(String name, String original) {
+        try {
+            if (name.startsWith("#x") || name.startsWith("#X")) {
+                return Character.toString(Integer.parseInt(name.substring(2), 16));
+            }
+            if (name.startsWith("#")) {
+                return Character.toString(Integer.parseInt(name.substring(1)));
+            }
+        } catch (IllegalArgumentException e) {
+            return original; // Out-of-range code point
+        }
+        return NAMED_ENTITIES.getOrDefault(name, original);
+    }
+
+    /**
+     * Inner HTML of the first element with the given tag name, up to its last
+     * closing tag (good enough for elements that don't nest, like main or body).
+     */
+    private static String firstElement(String html, String tag) {
+        Matcher open = Pattern.compile("<" + tag + "\\b[^>]*>", Pattern.CASE_INSENSITIVE).matcher(html);
+        if (!open.find()) {
+            return null;
+        }
+        Matcher close = Pattern.compile("</" + tag + "\\s*>", Pattern.CASE_INSENSITIVE).matcher(html);
+        int end = -1;
+        while (close.find(end < 0 ? open.end() : end + 1)) {
+            end = close.start();
+        }
+        return end < 0 ? html.substring(open.end()) : html.substring(open.end(), end);
+    }
+
+    private static String toText(String html) {
+        String text = BLOCK_TAG.matcher(html).replaceAll("\n");
+        text = TAG.matcher(text).replaceAll("");
+        text = decodeEntities(text);
+        text = SPACES.matcher(text).replaceAll(" ");
+        text = text.replace(" \n", "\n").replace("\n ", "\n");
+        return BLANK_LINES.matcher(text).replaceAll("\n\n").trim();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.scrape;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Browserless fetch of a job page: one HTTP GET and HTML-to-text extraction.
+ *
+ * Returns the page text only when it looks like a full posting; anything
+ * else (error status, non-HTML, a thin client-side shell) is reported as a
+ * miss so the caller can fall back to the browser. Postings embedded as
+ * JSON-LD are rendered to text as well, since some boards ship only a shell
+ * plus structured data.
+ */
+final class HttpPageFetcher {
+    static final int MIN_TEXT_CHARS = 1000;
+    static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(15);
+
+    private static final String USER_AGENT =
+        "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0 Safari/537.36";
+
+    private final HttpClient client;
+
+    /**
+     * Outcome of a fast-path fetch: text and HTML on a hit, otherwise why it missed.
+     */
+    record Result(String text, String html, String miss) {
+        static Result hit(String text, String html) {
+            return new Result(text, html, null);
+        }
+
+        static Result miss(String reason) {
+            return new Result(null, null, reason);
+        }
+
+        boolean isHit() {
+            return text != null;
+        }
+
+        /**
+         * The host answered 429; falling back to the browser would only hit it again.
+         */
+        boolean isThrottled() {
+            return "status 429".equals(miss);
+        }
+
+        /**
+         * The posting is gone (404/410); the browser would get the same answer.
+         */
+        boolean isGone() {
+            return "status 404".equals(miss) || "status 410".equals(miss);
+        }
+    }
+
+    HttpPageFetcher() {
+        this(HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build());
+    }
+
+    HttpPageFetcher(HttpClient client) {
+        this.client = client;
+    }
+
+    Result fetch(String url) throws InterruptedException {
+        HttpResponse<String> response;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "text/html,application/xhtml+xml")
+                .GET()
+                .build();
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            return Result.miss("error: " + e.getClass().getSimpleName());
+        }
+
+        if (response.statusCode() / 100 != 2) {
+            return Result.miss("status " + response.statusCode());
+        }
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        if (!contentType.isEmpty() && !contentType.contains("html")) {
+            return Result.miss("not html");
+        }
+
+        return extract(response.body());
+    }
+
+    /**
+     * Choose between the visible text and the JSON-LD posting, whichever is fuller.
+     */
+    static Result extract(String html) {
+        String text = HtmlText.pageText(html);
+        String structured = jobPostingText(JsonLd.jobPostings(html));
+        if (structured != null && structured.length() > text.length()) {
+            text = structured;
+        }
+        if (text.length() < MIN_TEXT_CHARS) {
+            return Result.miss("thin");
+        }
+        return Result.hit(text, html);
+    }
+
+    private static String jobPostingText(List<JsonNode> postings) {
+        if (postings.isEmpty()) {
+            return null;
+        }
+        JsonNode posting = postings.get(0);
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, JsonLd.text(posting, "title"));
+        appendLine(sb, JsonLd.text(posting, "hiringOrganization"));
+        JsonNode location = posting.path("jobLocation");
+        for (JsonNode place : location.isArray() ? location : List.of(location)) {
+            JsonNode address = place.path("address");
+            appendLine(sb, JsonLd.text(address, "addressLocality"));
+        }
+        appendLine(sb, JsonLd.text(posting, "employmentType"));
+        String description = posting.path("description").asText("");
+        if (!description.isBlank()) {
+            sb.append('\n').append(HtmlText.fragmentText(description));
+        }
+        return sb.toString().trim();
+    }
+
+    private static void appendLine(StringBuilder sb, String value) {
+        if (value != null) {
+            sb.append(value).append('\n');
+        }
+    }
+}
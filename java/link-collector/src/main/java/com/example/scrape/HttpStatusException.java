@@ -0,0 +1,23 @@
+package com.example.scrape;
+
+/**
+ * The job page answered with an HTTP error status.
+ */
+class HttpStatusException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    HttpStatusException(int status) {
+        this("HTTP " + status, status);
+    }
+
+    HttpStatusException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    int status() {
+        return status;
+    }
+}
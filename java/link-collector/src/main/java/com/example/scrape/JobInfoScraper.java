@@ -2,168 +2,628 @@ package com.example.scrape;
 
 import com.example.model.JobInfo;
 import com.example.model.JobLinkWithId;
+import com.example.model.ScrapeErrorClass;
+import com.example.model.ScrapeFailure;
 import com.example.persistence.JobInfoRepository;
 import com.example.persistence.JobLinkRepository;
-import com.microsoft.playwright.Browser;
-import com.microsoft.playwright.BrowserType;
-import com.microsoft.playwright.Page;
-import com.microsoft.playwright.Playwright;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.microsoft.playwright.TimeoutError;
 
-import java.time.Instant;
+import java.net.InetAddress;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scrapes detailed job information from job posting URLs using OpenAI for parsing.
  * Fetches unscraped links from the database, navigates to each URL,
  * extracts HTML content, sends to OpenAI for structured extraction,
  * and saves to job_info table.
+ *
+ * Work flows through three stages connected by bounded queues:
+ * fetch (plain HTTP where the host allows it, otherwise workers borrowing
+ * sessions from a {@link BrowserPool}, paced per host by a {@link HostScheduler}) -> parse
+ * (OpenAI workers) -> persist (a single writer that saves in batches).
+ * A full queue blocks the stage feeding it, so a slow stage applies
+ * backpressure instead of buffering the whole run in memory.
+ *
+ * Without a shared pool each run launches its own browsers on first use and
+ * closes them at the end; a long-running caller passes a pool so they stay warm.
  */
 public final class JobInfoScraper {
     private final JobLinkRepository linkRepo;
     private final JobInfoRepository jobInfoRepo;
     private final OpenAIJobParser openAIParser;
     private final boolean headless;
+    private final BrowserPool sharedBrowsers;
+    private final Options options;
+    private final HttpPageFetcher httpFetcher = new HttpPageFetcher();
+    private final HostScheduler<JobLinkWithId> scheduler = new HostScheduler<>(JobLinkWithId::url);
+    private final String leaseOwner = leaseOwner();
+    private WriteStats writeStats = new WriteStats();
+    private FetchStats fetchStats = new FetchStats();
+    private ParseStats parseStats = new ParseStats();
+    private RetryStats retryStats = new RetryStats();
+
+    /**
+     * Pipeline sizing.
+     * @param fetchConcurrency number of browser workers
+     * @param parseConcurrency number of concurrent OpenAI calls
+     * @param batchSize results per persist batch
+     * @param flushIntervalMillis flush a partial batch once its oldest result has waited this long
+     * @param lease how long claimed links stay reserved for this scraper; should
+     *        comfortably exceed the time a run takes
+     */
+    public record Options(int fetchConcurrency, int parseConcurrency, int batchSize, long flushIntervalMillis,
+                          Duration lease) {
+        public static final Options DEFAULT = new Options(1, 2, 20, 2000, Duration.ofMinutes(30));
+
+        public Options {
+            if (fetchConcurrency < 1 || parseConcurrency < 1 || batchSize < 1) {
+                throw new IllegalArgumentException("Concurrency and batch size must be at least 1");
+            }
+            if (lease.isNegative() || lease.isZero()) {
+                throw new IllegalArgumentException("Lease must be positive");
+            }
+        }
+    }
 
     public JobInfoScraper(JobLinkRepository linkRepo, JobInfoRepository jobInfoRepo,
                           OpenAIJobParser openAIParser, boolean headless) {
+        this(linkRepo, jobInfoRepo, openAIParser, headless, Options.DEFAULT);
+    }
+
+    public JobInfoScraper(JobLinkRepository linkRepo, JobInfoRepository jobInfoRepo,
+                          OpenAIJobParser openAIParser, boolean headless, Options options) {
         this.linkRepo = linkRepo;
         this.jobInfoRepo = jobInfoRepo;
         this.openAIParser = openAIParser;
         this.headless = headless;
+        this.sharedBrowsers = null;
+        this.options = options;
+    }
+
+    /**
+     * Scraper that fetches through an existing browser pool; the caller owns and closes it.
+     */
+    public JobInfoScraper(JobLinkRepository linkRepo, JobInfoRepository jobInfoRepo,
+                          OpenAIJobParser openAIParser, BrowserPool browsers, Options options) {
+        this.linkRepo = linkRepo;
+        this.jobInfoRepo = jobInfoRepo;
+        this.openAIParser = openAIParser;
+        this.headless = true;
+        this.sharedBrowsers = browsers;
+        this.options = options;
     }
 
     /**
      * Scrape job details from up to 'limit' unscraped links.
+     * Links are claimed under a lease first, so other scraper processes on the
+     * same database skip them; claims left unfinished are released at the end.
      * @param limit maximum number of jobs to scrape
      * @return number of jobs successfully scraped
      */
     public int scrapeJobs(int limit) throws Exception {
-        List<JobLinkWithId> links = linkRepo.findUnscrapedLinks(limit);
+        List<JobLinkWithId> links = linkRepo.claimLinks(leaseOwner, limit, options.lease());
         if (links.isEmpty()) {
             System.out.println("No unscraped job links found.");
             return 0;
         }
 
-        System.out.println("Found " + links.size() + " unscraped job links. Starting scraper...");
+        int fetchers = Math.min(options.fetchConcurrency(), links.size());
+        int parsers = Math.min(options.parseConcurrency(), links.size());
+        System.out.printf("Found %d unscraped job links. Starting %d fetch worker(s), %d parse worker(s)...%n",
+            links.size(), fetchers, parsers);
 
-        int successCount = 0;
+        writeStats = new WriteStats();
+        fetchStats = new FetchStats();
+        parseStats = new ParseStats();
+        retryStats = new RetryStats();
+        BrowserPool browsers = sharedBrowsers != null ? sharedBrowsers : new BrowserPool(headless, fetchers, false);
+        scheduler.clear();
+        scheduler.submitAll(links);
+        BlockingQueue<FetchedPage> parseQueue = new ArrayBlockingQueue<>(parsers * 2);
+        BlockingQueue<ScrapeResult> persistQueue = new ArrayBlockingQueue<>(options.batchSize() * 2);
+        AtomicInteger fetchersLeft = new AtomicInteger(fetchers);
+        AtomicInteger parsersLeft = new AtomicInteger(parsers);
 
-        try (Playwright pw = Playwright.create();
-             Browser browser = pw.chromium().launch(new BrowserType.LaunchOptions().setHeadless(headless))) {
+        List<StageWorker> workers = new ArrayList<>();
+        for (int i = 1; i <= fetchers; i++) {
+            workers.add(new FetchWorker("fetch-" + i, browsers, parseQueue, fetchersLeft, parsers));
+        }
+        for (int i = 1; i <= parsers; i++) {
+            workers.add(new ParseWorker("parse-" + i, parseQueue, persistQueue, parsersLeft));
+        }
 
-            for (JobLinkWithId link : links) {
-                try {
-                    System.out.println("\nScraping: " + link.url());
-                    scrapeJob(browser, link);
-                    successCount++;
-                    System.out.println("✓ Successfully scraped job #" + link.id());
-                } catch (Exception e) {
-                    System.err.println("✗ Failed to scrape job #" + link.id() + ": " + e.getMessage());
-                    // Save a failed job_info record and mark link as error
-                    try {
-                        saveFailedJobInfo(link, e.getMessage());
-                        linkRepo.markAsError(link.id(), e.getMessage());
-                    } catch (Exception saveError) {
-                        System.err.println("Failed to save error info: " + saveError.getMessage());
-                    }
-                }
+        List<Thread> threads = new ArrayList<>();
+        for (StageWorker worker : workers) {
+            Thread thread = new Thread(worker, "scrape-" + worker.name);
+            threads.add(thread);
+            thread.start();
+        }
+
+        int successCount;
+        try {
+            successCount = persistStage(persistQueue);
+        } finally {
+            for (Thread thread : threads) {
+                thread.interrupt();
+                thread.join();
+            }
+            if (browsers != sharedBrowsers) {
+                browsers.close();
             }
+            releaseClaims();
         }
 
         System.out.println("\nScraping complete: " + successCount + "/" + links.size() + " successful.");
+        printStageStats(workers);
+        System.out.println("Fetches: " + fetchStats);
+        System.out.println("Politeness: " + scheduler);
+        System.out.println("Parses: " + parseStats);
+        System.out.println("Failures: " + retryStats);
+        System.out.println("Writes: " + writeStats);
         return successCount;
     }
 
+    private void releaseClaims() {
+        try {
+            int released = linkRepo.releaseClaims(leaseOwner);
+            if (released > 0) {
+                System.out.println("Released " + released + " unfinished claim(s)");
+            }
+        } catch (Exception e) {
+            // The leases expire on their own
+            System.err.println("Failed to release claims: " + e.getMessage());
+        }
+    }
+
     /**
-     * Scrape a single job from its link using OpenAI for parsing.
+     * Lease owner for this scraper: host name, process id and a random suffix,
+     * so two scrapers in one process or container never share claims.
      */
-    private void scrapeJob(Browser browser, JobLinkWithId link) throws Exception {
-        Page page = browser.newPage();
+    private static String leaseOwner() {
+        String host;
         try {
-            // Navigate to the job posting
-            System.out.println("Navigating to: " + link.url());
-            page.navigate(link.url(), new Page.NavigateOptions().setTimeout(30000));
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
 
-            // Wait for the page to fully load (including JavaScript)
-            page.waitForLoadState(com.microsoft.playwright.options.LoadState.NETWORKIDLE);
+    /**
+     * Single writer: drains results into batches and flushes each batch when
+     * it is full or when its oldest result has waited for the flush interval.
+     * @return number of jobs saved successfully
+     */
+    private int persistStage(BlockingQueue<ScrapeResult> persistQueue) throws InterruptedException {
+        List<ScrapeResult> batch = new ArrayList<>(options.batchSize());
+        long deadline = Long.MAX_VALUE;
+        int successCount = 0;
+        while (true) {
+            long waitMillis = batch.isEmpty()
+                ? options.flushIntervalMillis()
+                : Math.max(0, deadline - System.currentTimeMillis());
+            ScrapeResult result = persistQueue.poll(waitMillis, TimeUnit.MILLISECONDS);
+            if (result == ScrapeResult.END) {
+                return successCount + flush(batch);
+            }
+            if (result != null) {
+                if (batch.isEmpty()) {
+                    deadline = System.currentTimeMillis() + options.flushIntervalMillis();
+                }
+                batch.add(result);
+            }
+            if (batch.size() >= options.batchSize() || (!batch.isEmpty() && System.currentTimeMillis() >= deadline)) {
+                successCount += flush(batch);
+            }
+        }
+    }
+
+    /**
+     * Write a batch of results and clear it: successful jobs in one transaction,
+     * failures recorded on their links for retry in another.
+     * If a batch write fails, falls back to saving results one at a time so
+     * a single bad row doesn't lose the rest.
+     * @return number of jobs in the batch saved successfully
+     */
+    private int flush(List<ScrapeResult> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
 
-            // Wait a bit more for any lazy-loaded content
-            page.waitForTimeout(2000);
+        List<JobInfo> rows = new ArrayList<>(batch.size());
+        List<ScrapeFailure> failures = new ArrayList<>();
+        for (ScrapeResult result : batch) {
+            if (result.failure() == null) {
+                rows.add(result.jobInfo());
+            } else {
+                failures.add(result.failure());
+            }
+        }
 
-            // Extract clean text content from the page
-            String pageText = extractPageText(page);
+        int saved = 0;
+        long start = System.nanoTime();
+        try {
+            if (!rows.isEmpty()) {
+                jobInfoRepo.saveAllAndMarkScraped(rows);
+            }
+            retryStats.record(failures.size(), linkRepo.recordFailures(failures));
+            writeStats.record(batch.size(), System.nanoTime() - start);
+            for (ScrapeResult result : batch) {
+                if (result.failure() == null) {
+                    System.out.println("✓ Successfully scraped job #" + result.link().id());
+                    saved++;
+                } else {
+                    logFailure(result.failure());
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Batch write of " + batch.size() + " results failed, saving one by one: " + e.getMessage());
+            for (ScrapeResult result : batch) {
+                if (persist(result)) {
+                    saved++;
+                }
+            }
+        }
+        batch.clear();
+        return saved;
+    }
 
-            System.out.println("Extracted " + pageText.length() + " characters of text content");
+    /**
+     * Write a single result to the database. Successful jobs are upserted, so
+     * a failed row left by an earlier attempt never blocks the save.
+     * @return true if the job was scraped successfully
+     */
+    private boolean persist(ScrapeResult result) {
+        JobLinkWithId link = result.link();
+        if (result.failure() == null) {
+            try {
+                jobInfoRepo.upsert(result.jobInfo());
+                linkRepo.markAsScraped(link.id());
+                System.out.println("✓ Successfully scraped job #" + link.id());
+                return true;
+            } catch (Exception e) {
+                return persistFailure(new ScrapeFailure(link.id(), ScrapeErrorClass.OTHER, "Failed to save: " + e.getMessage()));
+            }
+        }
+        return persistFailure(result.failure());
+    }
 
-            // Use OpenAI to extract job info from text
-            System.out.println("Sending content to OpenAI for parsing...");
-            JobInfo jobInfo = openAIParser.parseJobText(pageText, link.id(), link.url());
+    private boolean persistFailure(ScrapeFailure failure) {
+        logFailure(failure);
+        try {
+            retryStats.record(1, linkRepo.recordFailures(List.of(failure)));
+        } catch (Exception saveError) {
+            System.err.println("Failed to save error info: " + saveError.getMessage());
+        }
+        return false;
+    }
 
-            // Save to database
-            jobInfoRepo.save(jobInfo);
-            linkRepo.markAsScraped(link.id());
+    private static void logFailure(ScrapeFailure failure) {
+        System.err.println("✗ Failed to scrape job #" + failure.jobLinkId()
+            + " [" + failure.errorClass().code() + "]: " + failure.message());
+    }
 
-        } finally {
-            page.close();
+    /**
+     * Classify a fetch failure from the exception that ended it.
+     */
+    static ScrapeErrorClass classifyFetchError(Exception e) {
+        if (e instanceof ThrottledException) {
+            return ScrapeErrorClass.THROTTLED;
+        }
+        if (e instanceof HttpStatusException status) {
+            return status.status() >= 500 ? ScrapeErrorClass.HTTP_5XX : ScrapeErrorClass.HTTP_4XX;
+        }
+        if (e instanceof TimeoutError || e instanceof HttpTimeoutException || e instanceof SocketTimeoutException) {
+            return ScrapeErrorClass.TIMEOUT;
         }
+        return ScrapeErrorClass.OTHER;
     }
 
     /**
-     * Extract clean text content from the page.
-     * Tries to get just the main content area, falling back to body text.
+     * Classify a parse failure: a response we could not read is a parse failure,
+     * anything else (API errors, rate limits, network) an OpenAI failure.
      */
-    private String extractPageText(Page page) {
-        try {
-            // Try common content selectors for job boards
-            String[] contentSelectors = {
-                "main",                          // Semantic main element
-                "[role='main']",                 // ARIA main role
-                ".job-description",              // Common class
-                ".job-details",                  // Common class
-                ".posting",                      // Lever/Greenhouse
-                ".content",                      // Generic
-                "article",                       // Semantic article
-                "#content",                      // Common ID
-                "body"                           // Fallback to entire body
+    static ScrapeErrorClass classifyParseError(Exception e) {
+        return e instanceof JsonProcessingException ? ScrapeErrorClass.PARSE_FAILURE : ScrapeErrorClass.LLM_FAILURE;
+    }
+
+    private static void printStageStats(List<StageWorker> workers) {
+        System.out.println("Per-worker throughput:");
+        for (StageWorker w : workers) {
+            double seconds = Math.max(w.elapsedMillis, 1) / 1000.0;
+            System.out.printf("  %s: %d items (%d ok, %d failed) in %.1fs = %.2f items/min%n",
+                w.name, w.succeeded + w.failed, w.succeeded, w.failed, seconds,
+                (w.succeeded + w.failed) * 60.0 / seconds);
+        }
+    }
+
+    /**
+     * Batch write throughput of the persist stage, measured over time spent in the database.
+     */
+    private static final class WriteStats {
+        private int batches;
+        private int rows;
+        private long nanos;
+
+        void record(int batchRows, long batchNanos) {
+            batches++;
+            rows += batchRows;
+            nanos += batchNanos;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = nanos / 1e9;
+            double rowsPerSecond = seconds > 0 ? rows / seconds : 0.0;
+            return String.format("%d rows in %d batch(es), %.1fs in database = %.1f rows/sec",
+                rows, batches, seconds, rowsPerSecond);
+        }
+    }
+
+    /**
+     * Failed scrapes of a run, and how many were scheduled for another attempt.
+     */
+    private static final class RetryStats {
+        private int failed;
+        private int retried;
+
+        void record(int batchFailed, int batchRetried) {
+            failed += batchFailed;
+            retried += batchRetried;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d failed, %d scheduled for retry, %d given up", failed, retried, failed - retried);
+        }
+    }
+
+    /**
+     * How parsed jobs were produced: from JSON-LD alone, from JSON-LD plus a
+     * partial OpenAI call, or by a full OpenAI parse of the page text.
+     */
+    private static final class ParseStats {
+        private final AtomicInteger structuredOnly = new AtomicInteger();
+        private final AtomicInteger structuredPartial = new AtomicInteger();
+        private final AtomicInteger full = new AtomicInteger();
+
+        @Override
+        public String toString() {
+            return String.format("%d from structured data alone, %d structured + partial OpenAI, %d full OpenAI",
+                structuredOnly.get(), structuredPartial.get(), full.get());
+        }
+    }
+
+    /**
+     * Page handed from the fetch stage to the parse stage. structured is the
+     * JobInfo mapped from the page's JSON-LD, or null; failure is null on success.
+     */
+    private record FetchedPage(JobLinkWithId link, String text, JobInfo structured, ScrapeFailure failure) {
+        static final FetchedPage END = new FetchedPage(null, null, null, null);
+
+        /**
+         * How the host behaved, for the scheduler.
+         */
+        HostScheduler.Outcome outcome() {
+            if (failure == null) {
+                return HostScheduler.Outcome.SUCCESS;
+            }
+            return switch (failure.errorClass()) {
+                case THROTTLED -> HostScheduler.Outcome.THROTTLED;
+                case TIMEOUT -> HostScheduler.Outcome.TIMEOUT;
+                default -> HostScheduler.Outcome.FAILURE;
             };
+        }
+    }
+
+    /**
+     * Outcome of scraping one link; failure is null on success.
+     */
+    private record ScrapeResult(JobLinkWithId link, JobInfo jobInfo, ScrapeFailure failure) {
+        static final ScrapeResult END = new ScrapeResult(null, null, null);
+    }
+
+    /**
+     * A pipeline worker thread with throughput counters.
+     */
+    private abstract static class StageWorker implements Runnable {
+        final String name;
+        volatile int succeeded;
+        volatile int failed;
+        volatile long elapsedMillis;
+
+        StageWorker(String name) {
+            this.name = name;
+        }
 
-            for (String selector : contentSelectors) {
+        @Override
+        public final void run() {
+            long start = System.currentTimeMillis();
+            try {
+                work();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                elapsedMillis = System.currentTimeMillis() - start;
                 try {
-                    var element = page.locator(selector).first();
-                    if (element.count() > 0) {
-                        String text = element.innerText();
-                        if (text != null && text.length() > 500) {
-                            System.out.println("Extracted content using selector: " + selector);
-                            return text;
-                        }
+                    finish();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        abstract void work() throws InterruptedException;
+
+        /**
+         * Called once when the worker exits, even on failure, to signal the next stage.
+         */
+        abstract void finish() throws InterruptedException;
+    }
+
+    /**
+     * Fetch stage: takes links from the host scheduler until it runs dry. Each
+     * page is tried over plain HTTP first when its host type allows it, and
+     * fetched on a pooled browser session otherwise. The last fetcher to exit
+     * tells every parse worker that no more pages are coming.
+     */
+    private final class FetchWorker extends StageWorker {
+        private final BrowserPool browsers;
+        private final BlockingQueue<FetchedPage> parseQueue;
+        private final AtomicInteger fetchersLeft;
+        private final int parserCount;
+
+        FetchWorker(String name, BrowserPool browsers, BlockingQueue<FetchedPage> parseQueue,
+                    AtomicInteger fetchersLeft, int parserCount) {
+            super(name);
+            this.browsers = browsers;
+            this.parseQueue = parseQueue;
+            this.fetchersLeft = fetchersLeft;
+            this.parserCount = parserCount;
+        }
+
+        @Override
+        void work() throws InterruptedException {
+            JobLinkWithId link;
+            try {
+                while (!Thread.currentThread().isInterrupted() && (link = scheduler.take()) != null) {
+                    FetchedPage page;
+                    try {
+                        page = fetch(link);
+                    } catch (InterruptedException | BrowserPool.UnavailableException e) {
+                        scheduler.complete(link, HostScheduler.Outcome.FAILURE);
+                        throw e;
+                    }
+                    if (scheduler.complete(link, page.outcome())) {
+                        System.out.println("[" + name + "] Throttled, will retry later: " + link.url());
+                        continue;
+                    }
+                    if (page.failure() == null) {
+                        succeeded++;
+                    } else {
+                        failed++;
                     }
-                } catch (Exception e) {
-                    // Try next selector
-                    continue;
+                    parseQueue.put(page);
                 }
+            } catch (BrowserPool.UnavailableException e) {
+                // Leave the remaining links unscraped rather than recording them as errors
+                System.err.println("[" + name + "] Browser session failed: " + e.getMessage());
             }
+        }
 
-            // Final fallback: get all body text
-            return page.locator("body").first().innerText();
+        private FetchedPage fetch(JobLinkWithId link) throws InterruptedException {
+            try {
+                System.out.println("[" + name + "] Fetching: " + link.url());
+                PageContent content = fetchContent(link);
+                System.out.println("[" + name + "] Extracted " + content.text().length() + " characters of text content");
+                JobInfo structured = JobPostingExtractor.extract(content.html(), link.url()).orElse(null);
+                return new FetchedPage(link, content.text(), structured, null);
+            } catch (InterruptedException | BrowserPool.UnavailableException e) {
+                throw e;
+            } catch (Exception e) {
+                return new FetchedPage(link, null, null,
+                    new ScrapeFailure(link.id(), classifyFetchError(e), e.getMessage()));
+            }
+        }
 
-        } catch (Exception e) {
-            System.err.println("Failed to extract text, falling back to HTML: " + e.getMessage());
-            // Last resort: return HTML
-            return page.content();
+        private PageContent fetchContent(JobLinkWithId link) throws Exception {
+            if (FetchStrategy.forHostType(link.hostType()) == FetchStrategy.HTTP_FIRST) {
+                HttpPageFetcher.Result fast = httpFetcher.fetch(link.url());
+                fetchStats.recordFastPath(link.hostType(), fast);
+                if (fast.isHit()) {
+                    System.out.println("[" + name + "] Fast path hit");
+                    return new PageContent(fast.text(), fast.html());
+                }
+                if (fast.isThrottled()) {
+                    throw new ThrottledException(429);
+                }
+                if (fast.isGone()) {
+                    throw new HttpStatusException(Integer.parseInt(fast.miss().substring("status ".length())));
+                }
+                System.out.println("[" + name + "] Fast path miss (" + fast.miss() + "), using browser");
+            }
+            fetchStats.recordBrowser();
+            return browsers.fetch(link.url());
+        }
+
+        @Override
+        void finish() throws InterruptedException {
+            if (fetchersLeft.decrementAndGet() == 0) {
+                for (int i = 0; i < parserCount; i++) {
+                    parseQueue.put(FetchedPage.END);
+                }
+            }
         }
     }
 
     /**
-     * Save a failed job info record when scraping fails.
+     * Parse stage: builds a JobInfo from the page's JSON-LD when present, asking
+     * OpenAI only for the fields it lacks, and otherwise sends the page text to
+     * OpenAI. Fetch failures are passed through unchanged so the writer can record them.
      */
-    private void saveFailedJobInfo(JobLinkWithId link, String errorMessage) throws Exception {
-        JobInfo failedInfo = JobInfo.builder()
-            .jobLinkId(link.id())
-            .scrapedAt(Instant.now())
-            .scrapeSuccess(false)
-            .description("Scraping failed: " + errorMessage)
-            .build();
+    private final class ParseWorker extends StageWorker {
+        private final BlockingQueue<FetchedPage> parseQueue;
+        private final BlockingQueue<ScrapeResult> persistQueue;
+        private final AtomicInteger parsersLeft;
+
+        ParseWorker(String name, BlockingQueue<FetchedPage> parseQueue,
+                    BlockingQueue<ScrapeResult> persistQueue, AtomicInteger parsersLeft) {
+            super(name);
+            this.parseQueue = parseQueue;
+            this.persistQueue = persistQueue;
+            this.parsersLeft = parsersLeft;
+        }
+
+        @Override
+        void work() throws InterruptedException {
+            while (true) {
+                FetchedPage page = parseQueue.take();
+                if (page == FetchedPage.END) {
+                    return;
+                }
+                persistQueue.put(parse(page));
+            }
+        }
+
+        private ScrapeResult parse(FetchedPage page) {
+            JobLinkWithId link = page.link();
+            if (page.failure() != null) {
+                return new ScrapeResult(link, null, page.failure());
+            }
+            try {
+                JobInfo jobInfo;
+                if (page.structured() != null) {
+                    jobInfo = openAIParser.completeJobInfo(page.structured(), link.id(), link.url());
+                    (page.structured().requirements() != null
+                        ? parseStats.structuredOnly : parseStats.structuredPartial).incrementAndGet();
+                } else {
+                    jobInfo = openAIParser.parseJobText(page.text(), link.id(), link.url());
+                    parseStats.full.incrementAndGet();
+                }
+                succeeded++;
+                return new ScrapeResult(link, jobInfo, null);
+            } catch (Exception e) {
+                failed++;
+                return new ScrapeResult(link, null,
+                    new ScrapeFailure(link.id(), classifyParseError(e), e.getMessage()));
+            }
+        }
 
-        jobInfoRepo.save(failedInfo);
+        @Override
+        void finish() throws InterruptedException {
+            if (parsersLeft.decrementAndGet() == 0) {
+                persistQueue.put(ScrapeResult.END);
+            }
+        }
     }
 }
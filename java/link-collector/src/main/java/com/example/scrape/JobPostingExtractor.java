@@ -0,0 +1,238 @@
+package com.example.scrape;
+
+import com.example.model.JobInfo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Deterministic mapping of a schema.org JobPosting (JSON-LD) into JobInfo.
+ *
+ * Many ATS pages embed title, hiringOrganization, jobLocation, baseSalary,
+ * datePosted and employmentType as structured data, so those fields need no
+ * LLM. The result is a partial JobInfo: fields the posting does not carry
+ * (usually the requirements list) are left null for
+ * {@link OpenAIJobParser#completeJobInfo} to fill.
+ */
+final class JobPostingExtractor {
+    // Shorter descriptions are usually teasers; the page text is a better source
+    static final int MIN_DESCRIPTION_CHARS = 200;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JobPostingExtractor() {}
+
+    /**
+     * Extract the first usable JobPosting on the page.
+     * @param html page HTML
+     * @param sourceUrl the posting URL, used when the posting has no url of its own
+     * @return a partial JobInfo, or empty if the page has no posting with a title and full description
+     */
+    static Optional<JobInfo> extract(String html, String sourceUrl) {
+        if (html == null || html.indexOf("ld+json") < 0) {
+            return Optional.empty();
+        }
+        for (JsonNode posting : JsonLd.jobPostings(html)) {
+            Optional<JobInfo> jobInfo = map(posting, sourceUrl);
+            if (jobInfo.isPresent()) {
+                return jobInfo;
+            }
+        }
+        return Optional.empty();
+    }
+
+    static Optional<JobInfo> map(JsonNode posting, String sourceUrl) {
+        String title = JsonLd.text(posting, "title");
+        String description = description(posting);
+        if (title == null || description == null || description.length() < MIN_DESCRIPTION_CHARS) {
+            return Optional.empty();
+        }
+
+        String url = JsonLd.text(posting, "url");
+        return Optional.of(JobInfo.builder()
+            .title(title)
+            .company(JsonLd.text(posting, "hiringOrganization"))
+            .location(location(posting))
+            .remoteType(remoteType(posting))
+            .salary(salary(posting.get("baseSalary")))
+            .description(description)
+            .requirements(requirements(posting.get("skills")))
+            .jobType(jobType(posting.get("employmentType")))
+            .postedDate(JsonLd.text(posting, "datePosted"))
+            .applicationUrl(url != null ? url : sourceUrl)
+            .scrapeSuccess(true)
+            .build());
+    }
+
+    private static String description(JsonNode posting) {
+        String html = posting.path("description").asText("");
+        if (html.isBlank()) {
+            return null;
+        }
+        // Some boards entity-escape the HTML inside the JSON string
+        if (html.contains("&lt;")) {
+            html = HtmlText.decodeEntities(html);
+        }
+        String text = HtmlText.fragmentText(html);
+        return text.isEmpty() ? null : text;
+    }
+
+    private static String location(JsonNode posting) {
+        Set<String> places = new LinkedHashSet<>();
+        for (JsonNode place : asList(posting.get("jobLocation"))) {
+            JsonNode address = place.get("address");
+            if (address == null) {
+                continue;
+            }
+            if (address.isTextual()) {
+                places.add(address.asText().trim());
+                continue;
+            }
+            List<String> parts = new ArrayList<>();
+            for (String field : List.of("addressLocality", "addressRegion", "addressCountry")) {
+                String part = JsonLd.text(address, field);
+                if (part != null && !parts.contains(part)) {
+                    parts.add(part);
+                }
+            }
+            if (!parts.isEmpty()) {
+                places.add(String.join(", ", parts));
+            }
+        }
+        if (places.isEmpty() && "remote".equals(remoteType(posting))) {
+            for (JsonNode requirement : asList(posting.get("applicantLocationRequirements"))) {
+                String name = JsonLd.text(requirement, "name");
+                if (name != null) {
+                    places.add("Remote (" + name + ")");
+                }
+            }
+        }
+        places.remove("");
+        return places.isEmpty() ? null : String.join("; ", places);
+    }
+
+    private static String remoteType(JsonNode posting) {
+        for (JsonNode type : asList(posting.get("jobLocationType"))) {
+            if ("TELECOMMUTE".equalsIgnoreCase(type.asText())) {
+                return "remote";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * MonetaryAmount as text, e.g. "USD 120,000–150,000 per year".
+     */
+    static String salary(JsonNode baseSalary) {
+        if (baseSalary == null || baseSalary.isNull()) {
+            return null;
+        }
+        if (baseSalary.isTextual() || baseSalary.isNumber()) {
+            return baseSalary.asText();
+        }
+
+        JsonNode value = baseSalary.path("value");
+        String min = amount(value.isObject() ? value.get("minValue") : null);
+        String max = amount(value.isObject() ? value.get("maxValue") : null);
+        String single = amount(value.isObject() ? value.get("value") : value);
+        String range = min != null && max != null && !min.equals(max) ? min + "–" + max
+            : min != null ? min
+            : max != null ? max
+            : single;
+        if (range == null) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        String currency = JsonLd.text(baseSalary, "currency");
+        if (currency != null) {
+            sb.append(currency).append(' ');
+        }
+        sb.append(range);
+        String unit = value.isObject() ? JsonLd.text(value, "unitText") : JsonLd.text(baseSalary, "unitText");
+        if (unit != null) {
+            sb.append(" per ").append(unit.toLowerCase(Locale.ROOT));
+        }
+        return sb.toString();
+    }
+
+    private static String amount(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode() || node.isObject()) {
+            return null;
+        }
+        try {
+            BigDecimal number = new BigDecimal(node.asText().trim().replace(",", ""));
+            return NumberFormat.getNumberInstance(Locale.US).format(number);
+        } catch (NumberFormatException e) {
+            String text = node.asText().trim();
+            return text.isEmpty() ? null : text;
+        }
+    }
+
+    /**
+     * schema.org employmentType mapped to the job_type values the LLM prompt uses.
+     */
+    static String jobType(JsonNode employmentType) {
+        for (JsonNode type : asList(employmentType)) {
+            String value = type.asText().trim().toUpperCase(Locale.ROOT).replace('-', '_').replace(' ', '_');
+            switch (value) {
+                case "FULL_TIME", "FULLTIME": return "full-time";
+                case "PART_TIME", "PARTTIME": return "part-time";
+                case "INTERN", "INTERNSHIP": return "internship";
+                case "CONTRACTOR", "CONTRACT": return "contract";
+                case "TEMPORARY": return "temporary";
+                case "": break;
+                default: return "other";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * skills as a JSON array string, from either an array or a delimited string.
+     */
+    private static String requirements(JsonNode skills) {
+        Set<String> items = new LinkedHashSet<>();
+        for (JsonNode skill : asList(skills)) {
+            String text = skill.isObject() ? JsonLd.text(skill, "name") : skill.asText();
+            if (text == null) {
+                continue;
+            }
+            String[] parts = skill.isTextual() ? HtmlText.fragmentText(text).split("[,;\\n•]") : new String[] {text};
+            for (String part : parts) {
+                String item = part.trim();
+                if (!item.isEmpty()) {
+                    items.add(item);
+                }
+            }
+        }
+        if (items.isEmpty()) {
+            return null;
+        }
+        ArrayNode array = MAPPER.createArrayNode();
+        items.forEach(array::add);
+        return array.toString();
+    }
+
+    private static List<JsonNode> asList(JsonNode node) {
+        List<JsonNode> list = new ArrayList<>();
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return list;
+        }
+        if (node.isArray()) {
+            node.forEach(list::add);
+        } else {
+            list.add(node);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.scrape;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds schema.org JobPosting objects in a page's JSON-LD scripts.
+ * Handles a single object, a top-level array and an @graph, and skips
+ * blocks that are not valid JSON.
+ */
+final class JsonLd {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JsonLd() {}
+
+    static List<JsonNode> jobPostings(String html) {
+        List<JsonNode> postings = new ArrayList<>();
+        for (String block : HtmlText.jsonLdBlocks(html)) {
+            try {
+                collect(MAPPER.readTree(block), postings);
+            } catch (Exception e) {
+                // Malformed JSON-LD is common; ignore the block
+            }
+        }
+        return postings;
+    }
+
+    private static void collect(JsonNode node, List<JsonNode> out) {
+        if (node == null) {
+            return;
+        }
+        if (node.isArray()) {
+            node.forEach(child -> collect(child, out));
+            return;
+        }
+        if (!node.isObject()) {
+            return;
+        }
+        if (isType(node, "JobPosting")) {
+            out.add(node);
+        }
+        collect(node.get("@graph"), out);
+    }
+
+    static boolean isType(JsonNode node, String type) {
+        JsonNode types = node.get("@type");
+        if (types == null) {
+            return false;
+        }
+        if (types.isArray()) {
+            for (JsonNode t : types) {
+                if (type.equals(t.asText())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return type.equals(types.asText());
+    }
+
+    /**
+     * Text of a field that may be a plain value or an object with a name.
+     */
+    static String text(JsonNode node, String field) {
+        JsonNode value = node == null ? null : node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isObject()) {
+            value = value.get("name");
+            if (value == null || value.isNull()) {
+                return null;
+            }
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : HtmlText.decodeEntities(text);
+    }
+}
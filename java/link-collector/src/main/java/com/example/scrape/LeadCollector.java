@@ -0,0 +1,12 @@
+package com.example.scrape;
+
+import com.example.model.JobLead;
+
+import java.util.List;
+
+/**
+ * Collects job leads (company, role, location, apply link) from a job-list source.
+ */
+public interface LeadCollector {
+    List<JobLead> collect(String sourceUrl) throws Exception;
+}
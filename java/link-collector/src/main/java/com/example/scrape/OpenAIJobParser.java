@@ -10,15 +10,26 @@ import com.fasterxml.jackson.databind.JsonNode;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for parsing job posting HTML using OpenAI.
  * Sends HTML content to OpenAI and receives structured JSON job data.
  */
 public final class OpenAIJobParser {
+    static final String MODEL = "gpt-4o-mini";  // Using gpt-4o-mini for cost efficiency
+    // Bump whenever SYSTEM_PROMPT or the user prompt changes so cached responses are not reused
+    static final String PROMPT_VERSION = "job-info-v1";
+    static final String PARTIAL_PROMPT_VERSION = "job-info-partial-v1";
+    // Structured postings are already clean text, so far less context is needed
+    static final int PARTIAL_MAX_CHARS = 12000;
+
     private final OpenAiService openAiService;
     private final ObjectMapper objectMapper;
+    private final ParseCache cache;
 
     private static final String SYSTEM_PROMPT = """
         You are a job posting data extraction specialist. Your task is to extract structured information
@@ -65,9 +76,35 @@ public final class OpenAIJobParser {
         - Ensure all JSON is properly escaped
         """;
 
+    // Fields the partial prompt can ask for, with the same rules as SYSTEM_PROMPT
+    private static final Map<String, String> PARTIAL_FIELDS = partialFields();
+
+    private static Map<String, String> partialFields() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("requirements", """
+            TECHNICAL qualifications and hard skills ONLY as a JSON array of 5-15 strings \
+            (languages, frameworks, tools, certifications, years of experience, degrees; \
+            no soft skills). Use [] if none found""");
+        fields.put("remote_type", "One of \"remote\", \"hybrid\", \"onsite\", or null");
+        fields.put("job_type", "One of \"full-time\", \"part-time\", \"internship\", \"contract\", \"temporary\", \"other\", or null");
+        fields.put("salary", "Salary range or compensation info (string, or null if not mentioned)");
+        fields.put("location", "Job location (string, or null)");
+        fields.put("company", "Company name (string, or null)");
+        return fields;
+    }
+
     public OpenAIJobParser(String apiKey) {
+        this(apiKey, null);
+    }
+
+    /**
+     * @param apiKey OpenAI API key
+     * @param cache parse result cache, or null to always call the API
+     */
+    public OpenAIJobParser(String apiKey, ParseCache cache) {
         this.openAiService = new OpenAiService(apiKey, Duration.ofSeconds(60));
         this.objectMapper = new ObjectMapper();
+        this.cache = cache;
     }
 
     /**
@@ -84,6 +121,17 @@ public final class OpenAIJobParser {
         // Increased to 50K characters (~12K tokens) for better context
         String truncatedText = truncateText(textContent, 50000);
 
+        // Identical content was parsed before: reuse the stored response
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = ParseCache.key(truncatedText, MODEL, PROMPT_VERSION);
+            var cached = cache.get(cacheKey);
+            if (cached.isPresent()) {
+                System.out.println("Parse cache hit for " + sourceUrl);
+                return parseJsonToJobInfo(cached.get(), jobLinkId);
+            }
+        }
+
         // Log what we're sending (first 500 chars for debugging)
         System.out.println("--- Content Preview (first 500 chars) ---");
         System.out.println(truncatedText.substring(0, Math.min(500, truncatedText.length())));
@@ -96,15 +144,130 @@ public final class OpenAIJobParser {
             truncatedText
         );
 
+        String jsonResponse = complete(SYSTEM_PROMPT, userPrompt, 3000);
+
+        // Log the JSON response for debugging
+        System.out.println("--- OpenAI Response Preview (first 300 chars) ---");
+        System.out.println(jsonResponse.substring(0, Math.min(300, jsonResponse.length())));
+        System.out.println("--- End Response ---");
+
+        // Parse the JSON response
+        JobInfo jobInfo = parseJsonToJobInfo(jsonResponse, jobLinkId);
+
+        // Only cache responses that parsed cleanly
+        if (cache != null) {
+            cache.put(cacheKey, MODEL, PROMPT_VERSION, jsonResponse);
+        }
+        return jobInfo;
+    }
+
+    /**
+     * Fill the fields a structured (JSON-LD) extraction could not.
+     *
+     * When the posting already lists its skills, no API call is made. Otherwise
+     * only the missing fields are requested, from the clean description rather
+     * than the whole page, which keeps the prompt a fraction of a full parse.
+     *
+     * @param partial JobInfo mapped from structured data; title and description are set
+     * @param jobLinkId The ID of the job link being processed
+     * @param sourceUrl The URL of the job posting (for context)
+     * @return the completed JobInfo
+     * @throws Exception if the API call or its response fails
+     */
+    public JobInfo completeJobInfo(JobInfo partial, Integer jobLinkId, String sourceUrl) throws Exception {
+        JobInfo.Builder builder = partial.toBuilder().jobLinkId(jobLinkId).scrapedAt(Instant.now());
+        if (partial.requirements() != null) {
+            return builder.build();
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (String field : PARTIAL_FIELDS.keySet()) {
+            if (fieldValue(partial, field) == null) {
+                missing.add(field);
+            }
+        }
+
+        String context = "Title: " + partial.title()
+            + (partial.company() != null ? "\nCompany: " + partial.company() : "")
+            + (partial.location() != null ? "\nLocation: " + partial.location() : "")
+            + "\n\n" + truncateText(partial.description(), PARTIAL_MAX_CHARS);
+
+        String promptVersion = PARTIAL_PROMPT_VERSION + ":" + String.join(",", missing);
+        String cacheKey = null;
+        String jsonResponse = null;
+        if (cache != null) {
+            cacheKey = ParseCache.key(context, MODEL, promptVersion);
+            jsonResponse = cache.get(cacheKey).orElse(null);
+            if (jsonResponse != null) {
+                System.out.println("Parse cache hit for " + sourceUrl);
+            }
+        }
+
+        boolean fresh = jsonResponse == null;
+        if (fresh) {
+            StringBuilder systemPrompt = new StringBuilder("""
+                You extract fields from a job posting. Return ONLY a valid JSON object with exactly
+                these keys (use null for anything not stated, [] for an empty requirements list):
+                """);
+            for (String field : missing) {
+                systemPrompt.append("- ").append(field).append(": ").append(PARTIAL_FIELDS.get(field)).append('\n');
+            }
+            String userPrompt = "Job posting.\nSource URL: " + sourceUrl + "\n\n" + context;
+
+            System.out.println("Structured data for " + sourceUrl + ", asking OpenAI only for " + missing);
+            jsonResponse = complete(systemPrompt.toString(), userPrompt, 800);
+        }
+
+        JsonNode root = objectMapper.readTree(jsonResponse);
+        for (String field : missing) {
+            setField(builder, field, root);
+        }
+        JobInfo jobInfo = builder.build();
+
+        // Only cache responses that parsed cleanly
+        if (cache != null && fresh) {
+            cache.put(cacheKey, MODEL, promptVersion, jsonResponse);
+        }
+        return jobInfo;
+    }
+
+    private static String fieldValue(JobInfo jobInfo, String field) {
+        return switch (field) {
+            case "requirements" -> jobInfo.requirements();
+            case "remote_type" -> jobInfo.remoteType();
+            case "job_type" -> jobInfo.jobType();
+            case "salary" -> jobInfo.salary();
+            case "location" -> jobInfo.location();
+            case "company" -> jobInfo.company();
+            default -> throw new IllegalArgumentException("Unknown field: " + field);
+        };
+    }
+
+    private void setField(JobInfo.Builder builder, String field, JsonNode root) {
+        switch (field) {
+            case "requirements" -> builder.requirements(requirementsJson(root));
+            case "remote_type" -> builder.remoteType(getStringOrNull(root, field));
+            case "job_type" -> builder.jobType(getStringOrNull(root, field));
+            case "salary" -> builder.salary(getStringOrNull(root, field));
+            case "location" -> builder.location(getStringOrNull(root, field));
+            case "company" -> builder.company(getStringOrNull(root, field));
+            default -> throw new IllegalArgumentException("Unknown field: " + field);
+        }
+    }
+
+    /**
+     * Send one chat completion and return its content with markdown fences removed.
+     */
+    private String complete(String systemPrompt, String userPrompt, int maxTokens) throws Exception {
         // Build the chat completion request
         ChatCompletionRequest request = ChatCompletionRequest.builder()
-            .model("gpt-4o-mini")  // Using gpt-4o-mini for cost efficiency
+            .model(MODEL)
             .messages(List.of(
-                new ChatMessage(ChatMessageRole.SYSTEM.value(), SYSTEM_PROMPT),
+                new ChatMessage(ChatMessageRole.SYSTEM.value(), systemPrompt),
                 new ChatMessage(ChatMessageRole.USER.value(), userPrompt)
             ))
             .temperature(0.2)  // Slightly higher for better extraction
-            .maxTokens(3000)   // Increased for longer descriptions
+            .maxTokens(maxTokens)
             .build();
 
         // Call OpenAI API
@@ -121,23 +284,14 @@ public final class OpenAIJobParser {
             throw new Exception("OpenAI returned empty content");
         }
 
-        jsonResponse = jsonResponse.trim();
-
         // Remove markdown code blocks if present
-        jsonResponse = cleanJsonResponse(jsonResponse);
+        jsonResponse = cleanJsonResponse(jsonResponse.trim());
 
         // Validate JSON is not empty
         if (jsonResponse.isEmpty() || jsonResponse.equals("{}")) {
             throw new Exception("OpenAI returned empty or invalid JSON");
         }
-
-        // Log the JSON response for debugging
-        System.out.println("--- OpenAI Response Preview (first 300 chars) ---");
-        System.out.println(jsonResponse.substring(0, Math.min(300, jsonResponse.length())));
-        System.out.println("--- End Response ---");
-
-        // Parse the JSON response
-        return parseJsonToJobInfo(jsonResponse, jobLinkId);
+        return jsonResponse;
     }
 
     /**
@@ -207,26 +361,26 @@ public final class OpenAIJobParser {
         builder.applicationUrl(getStringOrNull(root, "application_url"));
 
         // Handle requirements array - convert to JSON string
-        if (root.has("requirements") && !root.get("requirements").isNull()) {
-            JsonNode requirementsNode = root.get("requirements");
-            // Only store if it's an array with elements
-            if (requirementsNode.isArray() && requirementsNode.size() > 0) {
-                builder.requirements(requirementsNode.toString());
-            } else {
-                // Empty array or invalid - store null
-                builder.requirements(null);
-            }
-        } else {
-            builder.requirements(null);
-        }
+        builder.requirements(requirementsJson(root));
 
         return builder.build();
     }
 
+    /**
+     * The requirements array as a JSON string; null when missing, empty or not an array.
+     */
+    private static String requirementsJson(JsonNode root) {
+        JsonNode requirementsNode = root.get("requirements");
+        if (requirementsNode != null && requirementsNode.isArray() && requirementsNode.size() > 0) {
+            return requirementsNode.toString();
+        }
+        return null;
+    }
+
     /**
      * Safely extract string value from JSON node, returning null if not present or null.
      */
-    private String getStringOrNull(JsonNode node, String fieldName) {
+    private static String getStringOrNull(JsonNode node, String fieldName) {
         if (!node.has(fieldName) || node.get(fieldName).isNull()) {
             return null;
         }
@@ -0,0 +1,7 @@
+package com.example.scrape;
+
+/**
+ * A fetched page: its readable text plus the HTML it came from, so structured
+ * data embedded in the markup can be read as well.
+ */
+record PageContent(String text, String html) {}
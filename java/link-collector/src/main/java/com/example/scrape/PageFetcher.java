@@ -0,0 +1,189 @@
+package com.example.scrape;
+
+import com.example.classify.HostMatcher;
+import com.example.classify.LoadProfile;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.WaitUntilState;
+
+import java.net.URI;
+
+/**
+ * Browser session owned by a single scraper thread.
+ * Playwright objects are not thread-safe, so every worker creates its own
+ * Playwright instance, Browser and isolated BrowserContext and must only
+ * use them from the thread that created them.
+ */
+final class PageFetcher implements AutoCloseable {
+    // Analytics, tag managers and session recorders: never part of a posting
+    private static final HostMatcher<Boolean> TRACKER_HOSTS = trackers(
+        "google-analytics.com", "googletagmanager.com", "doubleclick.net", "googleadservices.com",
+        "facebook.net", "hotjar.com", "segment.com", "segment.io", "mixpanel.com", "amplitude.com",
+        "heapanalytics.com", "fullstory.com", "clarity.ms", "bat.bing.com", "snap.licdn.com",
+        "ads-twitter.com", "hs-analytics.net", "hs-scripts.com", "nr-data.net", "optimizely.com",
+        "quantserve.com", "adroll.com", "intercomcdn.com", "qualified.com", "sentry-cdn.com"
+    );
+
+    private static HostMatcher<Boolean> trackers(String... domains) {
+        HostMatcher.Builder<Boolean> builder = HostMatcher.builder();
+        for (String domain : domains) {
+            builder.add(domain, Boolean.TRUE);
+        }
+        return builder.build();
+    }
+
+    private final Playwright playwright;
+    private final Browser browser;
+    private final BrowserContext context;
+
+    PageFetcher(boolean headless) {
+        this.playwright = Playwright.create();
+        try {
+            this.browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(headless));
+            this.context = browser.newContext();
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Whether the browser process is still alive.
+     */
+    boolean isConnected() {
+        return browser.isConnected();
+    }
+
+    /**
+     * Open a new tab in this session's context; the caller closes it.
+     */
+    Page newPage() {
+        return context.newPage();
+    }
+
+    /**
+     * Navigate to a job posting and return its readable text content.
+     */
+    String fetchText(String url) {
+        return fetch(url).text();
+    }
+
+    /**
+     * Navigate to a job posting and return its readable text and rendered HTML.
+     * Loads the page with the host's {@link LoadProfile}: media and trackers are
+     * aborted and the page is read as soon as its content selector appears.
+     */
+    PageContent fetch(String url) {
+        LoadProfile profile = LoadProfile.forUrl(url);
+        Page page = context.newPage();
+        try {
+            page.route("**/*", route -> filter(route, profile));
+
+            // Navigate to the job posting; scripts still run, but nothing waits on trackers
+            Response response = page.navigate(url, new Page.NavigateOptions()
+                .setTimeout(30000)
+                .setWaitUntil(WaitUntilState.DOMCONTENTLOADED));
+            if (response != null && (response.status() == 429 || response.status() == 403)) {
+                throw new ThrottledException(response.status());
+            }
+            if (response != null && response.status() >= 400) {
+                throw new HttpStatusException(response.status());
+            }
+
+            // Wait for the posting itself to render
+            try {
+                page.locator(profile.readySelector()).first()
+                    .waitFor(new Locator.WaitForOptions().setTimeout(profile.readyTimeoutMs()));
+            } catch (TimeoutError e) {
+                System.err.println("No content selector after " + profile.readyTimeoutMs()
+                    + "ms on " + url + ", reading the page as is");
+            }
+
+            // Extract clean text content from the page
+            return new PageContent(extractPageText(page), page.content());
+        } finally {
+            page.close();
+        }
+    }
+
+    private static void filter(Route route, LoadProfile profile) {
+        if (profile.blockedResourceTypes().contains(route.request().resourceType())
+                || isTracker(route.request().url())) {
+            route.abort();
+        } else {
+            route.resume();
+        }
+    }
+
+    static boolean isTracker(String url) {
+        String host;
+        try {
+            host = URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // The host or any parent domain on the list
+        return TRACKER_HOSTS.matches(host);
+    }
+
+    /**
+     * Extract clean text content from the page.
+     * Tries to get just the main content area, falling back to body text.
+     */
+    private String extractPageText(Page page) {
+        try {
+            // Try common content selectors for job boards
+            String[] contentSelectors = {
+                "main",                          // Semantic main element
+                "[role='main']",                 // ARIA main role
+                ".job-description",              // Common class
+                ".job-details",                  // Common class
+                ".posting",                      // Lever/Greenhouse
+                ".content",                      // Generic
+                "article",                       // Semantic article
+                "#content",                      // Common ID
+                "body"                           // Fallback to entire body
+            };
+
+            for (String selector : contentSelectors) {
+                try {
+                    var element = page.locator(selector).first();
+                    if (element.count() > 0) {
+                        String text = element.innerText();
+                        if (text != null && text.length() > 500) {
+                            return text;
+                        }
+                    }
+                } catch (Exception e) {
+                    // Try next selector
+                    continue;
+                }
+            }
+
+            // Final fallback: get all body text
+            return page.locator("body").first().innerText();
+
+        } catch (Exception e) {
+            System.err.println("Failed to extract text, falling back to HTML: " + e.getMessage());
+            // Last resort: return HTML
+            return page.content();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            context.close();
+            browser.close();
+        } finally {
+            playwright.close();
+        }
+    }
+}
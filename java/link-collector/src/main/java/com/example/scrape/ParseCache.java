@@ -0,0 +1,126 @@
+package com.example.scrape;
+
+import com.example.persistence.ParseCacheRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of OpenAI parse responses.
+ * Keys are a SHA-256 of model, prompt version and whitespace-normalized text,
+ * so the same posting seen again (re-scrape, URL variant, repost) skips the
+ * API call. Cache errors are logged and treated as misses, never as failures.
+ */
+public final class ParseCache {
+    private static final int EVICT_EVERY_PUTS = 100;
+
+    private final ParseCacheRepository repository;
+    private final int maxEntries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong puts = new AtomicLong();
+
+    /**
+     * @param repository backing store
+     * @param maxEntries size bound; least recently used entries are evicted beyond it
+     */
+    public ParseCache(ParseCacheRepository repository, int maxEntries) {
+        this.repository = repository;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Build the cache key for a piece of (already truncated) page text.
+     */
+    public static String key(String text, String model, String promptVersion) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(promptVersion.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(normalize(text).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Collapse whitespace runs so layout-only differences hash the same.
+     */
+    static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    public Optional<String> get(String key) {
+        try {
+            Optional<String> cached = repository.find(key);
+            (cached.isPresent() ? hits : misses).incrementAndGet();
+            return cached;
+        } catch (Exception e) {
+            System.err.println("Parse cache lookup failed: " + e.getMessage());
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, String model, String promptVersion, String responseJson) {
+        try {
+            repository.put(key, model, promptVersion, responseJson);
+            if (puts.incrementAndGet() % EVICT_EVERY_PUTS == 0) {
+                evict();
+            }
+        } catch (Exception e) {
+            System.err.println("Parse cache write failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Trim the cache down to its size bound.
+     */
+    public void evict() {
+        try {
+            int evicted = repository.evictToSize(maxEntries);
+            if (evicted > 0) {
+                System.out.println("Parse cache: evicted " + evicted + " least recently used entries");
+            }
+        } catch (Exception e) {
+            System.err.println("Parse cache eviction failed: " + e.getMessage());
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        long h = hits.get();
+        long total = h + misses.get();
+        double hitRate = total == 0 ? 0.0 : h * 100.0 / total;
+        return String.format("hits=%d misses=%d hitRate=%.1f%%", h, total - h, hitRate);
+    }
+}
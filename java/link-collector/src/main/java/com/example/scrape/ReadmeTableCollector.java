@@ -0,0 +1,360 @@
+package com.example.scrape;
+
+import com.example.model.JobLead;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Browserless collector for GitHub job-list READMEs.
+ *
+ * Downloads the raw README (raw.githubusercontent.com for github.com URLs, or
+ * a local file for file: URLs) and streams it line by line through a parser
+ * that reads both markdown pipe tables and the HTML tables newer lists use.
+ * Nothing is rendered, so a collection costs one download instead of a page load.
+ *
+ * Rows are read like {@link GitHubLinkCollector} reads them: "↳" rows belong
+ * to the company above, and the apply URL is the first non-Simplify link in
+ * the application cell. A URL fragment picks the table under the heading with
+ * that anchor; without one, or when no heading matches, the first table is read.
+ * If the raw README can't be fetched or has no rows, the fallback collector
+ * (usually the browser one) is asked instead.
+ */
+public final class ReadmeTableCollector implements LeadCollector {
+    static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final int CASE_INSENSITIVE_DOTALL = Pattern.CASE_INSENSITIVE | Pattern.DOTALL;
+    private static final Pattern BLOB_URL = Pattern.compile("https?://github\\.com/([^/]+)/([^/]+)/blob/([^?#]+).*");
+    private static final Pattern REPO_URL = Pattern.compile("https?://github\\.com/([^/]+)/([^/?#]+)/?(?:[?#].*)?");
+    private static final Pattern TABLE_START = Pattern.compile("<table\\b[^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TABLE_END = Pattern.compile("</table\\s*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ROW = Pattern.compile("<tr\\b[^>]*>(.*?)</tr\\s*>", CASE_INSENSITIVE_DOTALL);
+    private static final Pattern CELL = Pattern.compile("<td\\b[^>]*>(.*?)</td\\s*>", CASE_INSENSITIVE_DOTALL);
+    private static final Pattern SEPARATOR_ROW = Pattern.compile("\\|?(\\s*:?-+:?\\s*\\|)+\\s*(:?-+:?)?\\s*");
+    private static final Pattern HREF = Pattern.compile(
+        "href\\s*=\\s*[\"']([^\"']+)[\"']|\\[[^\\]]*]\\(([^)\\s]+)[^)]*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern MARKDOWN_IMAGE = Pattern.compile("!\\[[^\\]]*]\\([^)]*\\)");
+    private static final Pattern MARKDOWN_LINK = Pattern.compile("\\[([^\\]]*)]\\(([^)\\s]+)[^)]*\\)");
+    private static final Pattern SUMMARY = Pattern.compile("<summary\\b[^>]*>.*?</summary\\s*>", CASE_INSENSITIVE_DOTALL);
+    private static final Pattern EMPHASIS = Pattern.compile("\\*\\*|__");
+    private static final Pattern SLUG_DROP = Pattern.compile("[^\\p{L}\\p{N}\\s_-]");
+
+    private final HttpClient client;
+    private final LeadCollector fallback;
+
+    /**
+     * @param fallback asked when the raw README has no readable table; may be null
+     */
+    public ReadmeTableCollector(LeadCollector fallback) {
+        this(HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build(), fallback);
+    }
+
+    ReadmeTableCollector(HttpClient client, LeadCollector fallback) {
+        this.client = client;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public List<JobLead> collect(String sourceUrl) throws Exception {
+        List<JobLead> leads;
+        try (Reader reader = open(sourceUrl)) {
+            leads = parse(reader, sourceUrl);
+        } catch (IOException e) {
+            if (fallback == null) {
+                throw e;
+            }
+            System.out.println("Raw README unavailable (" + e.getMessage() + "), rendering " + sourceUrl);
+            return fallback.collect(sourceUrl);
+        }
+
+        if (leads.isEmpty() && fallback != null) {
+            System.out.println("No table rows in raw README, rendering " + sourceUrl);
+            return fallback.collect(sourceUrl);
+        }
+        return leads;
+    }
+
+    /**
+     * Parse the job table of a README in one pass.
+     * @param sourceUrl recorded on each lead; its fragment, if any, selects the table
+     */
+    public static List<JobLead> parse(Reader reader, String sourceUrl) throws IOException {
+        String fragment = null;
+        try {
+            fragment = URI.create(sourceUrl).getFragment();
+        } catch (IllegalArgumentException e) {
+            // Not a URI (a bare file name, say): read the first table
+        }
+
+        TableParser parser = new TableParser(sourceUrl, fragment);
+        BufferedReader lines = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (parser.accept(line)) {
+                return parser.leads;
+            }
+        }
+        if (parser.endTable() || parser.firstTable == null) {
+            return parser.leads;
+        }
+        return parser.firstTable;
+    }
+
+    /**
+     * Where the markdown behind a README URL can be downloaded.
+     */
+    static String rawUrl(String url) {
+        Matcher blob = BLOB_URL.matcher(url);
+        if (blob.matches()) {
+            return "https://raw.githubusercontent.com/" + blob.group(1) + "/" + blob.group(2) + "/" + blob.group(3);
+        }
+        Matcher repo = REPO_URL.matcher(url);
+        if (repo.matches()) {
+            return "https://raw.githubusercontent.com/" + repo.group(1) + "/" + repo.group(2) + "/HEAD/README.md";
+        }
+        int hash = url.indexOf('#');
+        return hash < 0 ? url : url.substring(0, hash);
+    }
+
+    private Reader open(String sourceUrl) throws IOException, InterruptedException {
+        URI uri = URI.create(rawUrl(sourceUrl));
+        if ("file".equalsIgnoreCase(uri.getScheme())) {
+            return Files.newBufferedReader(Path.of(uri), StandardCharsets.UTF_8);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(REQUEST_TIMEOUT)
+            .header("Accept", "text/plain, text/markdown, text/html")
+            .GET()
+            .build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() / 100 != 2) {
+            response.body().close();
+            throw new IOException("status " + response.statusCode() + " for " + uri);
+        }
+        return new InputStreamReader(response.body(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Line-at-a-time table reader. HTML rows are buffered only until their
+     * closing tag, so memory stays at one row however long the table is.
+     */
+    private static final class TableParser {
+        private enum State { OUTSIDE, MARKDOWN, HTML }
+
+        final String sourceUrl;
+        final String target;
+        List<JobLead> leads = new ArrayList<>();
+        // Leads of the first table, kept in case the target heading never shows up
+        List<JobLead> firstTable;
+
+        State state = State.OUTSIDE;
+        boolean inTarget;
+        boolean headerSeen;
+        String lastCompany;
+        final StringBuilder html = new StringBuilder();
+
+        TableParser(String sourceUrl, String fragment) {
+            this.sourceUrl = sourceUrl;
+            this.target = fragment == null || fragment.isBlank() ? null : fragment.toLowerCase(Locale.ROOT);
+            this.inTarget = target == null;
+        }
+
+        /**
+         * @return true once the wanted table has been read
+         */
+        boolean accept(String line) {
+            String trimmed = line.strip();
+            switch (state) {
+                case MARKDOWN -> {
+                    if (trimmed.startsWith("|")) {
+                        markdownRow(trimmed);
+                        return false;
+                    }
+                    if (endTable()) {
+                        return true;
+                    }
+                }
+                case HTML -> {
+                    html.append(line).append('\n');
+                    return drainHtml();
+                }
+                case OUTSIDE -> { }
+            }
+
+            if (trimmed.startsWith("#")) {
+                String heading = trimmed.replaceFirst("^#+", "");
+                inTarget = target == null || target.equals(slug(heading));
+            } else if (trimmed.startsWith("|")) {
+                state = State.MARKDOWN;
+                headerSeen = false;
+                markdownRow(trimmed);
+            } else {
+                Matcher start = TABLE_START.matcher(line);
+                if (start.find()) {
+                    state = State.HTML;
+                    html.setLength(0);
+                    html.append(line, start.end(), line.length()).append('\n');
+                    return drainHtml();
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Close the current table.
+         * @return true if it was the wanted one
+         */
+        boolean endTable() {
+            if (state == State.OUTSIDE) {
+                return false;
+            }
+            state = State.OUTSIDE;
+            lastCompany = null;
+            if (inTarget) {
+                return true;
+            }
+            if (firstTable == null) {
+                firstTable = leads;
+            }
+            leads = new ArrayList<>();
+            return false;
+        }
+
+        private boolean drainHtml() {
+            Matcher row = ROW.matcher(html);
+            int consumed = 0;
+            while (row.find()) {
+                List<String> cells = new ArrayList<>();
+                Matcher cell = CELL.matcher(row.group(1));
+                while (cell.find()) {
+                    cells.add(cell.group(1));
+                }
+                addRow(cells);
+                consumed = row.end();
+            }
+
+            Matcher end = TABLE_END.matcher(html);
+            if (end.find(consumed)) {
+                html.setLength(0);
+                return endTable();
+            }
+            html.delete(0, consumed);
+            return false;
+        }
+
+        private void markdownRow(String line) {
+            if (!headerSeen) {
+                headerSeen = true; // column titles
+                return;
+            }
+            if (SEPARATOR_ROW.matcher(line).matches()) {
+                return;
+            }
+            addRow(splitCells(line));
+        }
+
+        private void addRow(List<String> cells) {
+            if (cells.size() < 4) return; // need at least Company, Role, Location, Application
+
+            String company = cellText(cells.get(0));
+            String role = cellText(cells.get(1));
+            String location = cellText(cells.get(2));
+
+            if (company.startsWith("↳")) {
+                company = lastCompany;
+            } else if (!company.isBlank()) {
+                lastCompany = company;
+            }
+
+            String applyUrl = firstNonSimplifyHref(cells.get(3));
+            if (applyUrl == null) return; // closed postings have no link
+
+            if (role.isBlank()) return;
+            if (company == null || company.isBlank()) return;
+
+            leads.add(new JobLead(company, role, location, applyUrl, sourceUrl));
+        }
+    }
+
+    /**
+     * Split a markdown table row on unescaped pipes, dropping the outer ones.
+     */
+    static List<String> splitCells(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length() && line.charAt(i + 1) == '|') {
+                cell.append('|');
+                i++;
+            } else if (c == '|') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+
+        if (line.startsWith("|")) {
+            cells.remove(0);
+        }
+        if (line.endsWith("|") && !line.endsWith("\\|") && !cells.isEmpty()) {
+            cells.remove(cells.size() - 1);
+        }
+        return cells;
+    }
+
+    /**
+     * Visible text of a cell holding markdown, inline HTML or both. A
+     * collapsed location list keeps its entries rather than its "N locations" summary.
+     */
+    static String cellText(String cell) {
+        String text = MARKDOWN_IMAGE.matcher(cell).replaceAll("");
+        text = MARKDOWN_LINK.matcher(text).replaceAll("$1");
+        text = EMPHASIS.matcher(text).replaceAll("");
+        text = SUMMARY.matcher(text).replaceAll("");
+        return HtmlText.fragmentText(text);
+    }
+
+    // Find the first link in the cell that does NOT point at simplify.
+    static String firstNonSimplifyHref(String cell) {
+        String withoutImages = MARKDOWN_IMAGE.matcher(cell).replaceAll("");
+        Matcher m = HREF.matcher(withoutImages);
+        while (m.find()) {
+            String href = m.group(1) != null ? HtmlText.decodeEntities(m.group(1)) : m.group(2);
+            if (href.toLowerCase(Locale.ROOT).contains("simplify.jobs")) continue;
+            return href;
+        }
+        return null;
+    }
+
+    /**
+     * GitHub's anchor for a heading: lower case, punctuation and emoji dropped, spaces as hyphens.
+     */
+    static String slug(String heading) {
+        String text = cellText(heading).toLowerCase(Locale.ROOT);
+        return SLUG_DROP.matcher(text).replaceAll("").replace(' ', '-');
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.scrape;
+
+import com.example.model.JobLead;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content hashes for README tables: one per row, and one for the whole table
+ * so an unchanged README can be recognised without touching its rows.
+ */
+public final class SourceFingerprints {
+    private SourceFingerprints() {}
+
+    /**
+     * Hash of the fields a row contributes to a job link.
+     */
+    public static String rowHash(JobLead lead) {
+        MessageDigest digest = sha256();
+        for (String field : new String[] {lead.company(), lead.role(), lead.location(), lead.applyUrl()}) {
+            digest.update((field == null ? "" : field).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Hash of a table, from its row hashes in table order.
+     */
+    public static String contentHash(Iterable<String> rowHashes) {
+        MessageDigest digest = sha256();
+        for (String rowHash : rowHashes) {
+            digest.update(rowHash.getBytes(StandardCharsets.US_ASCII));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.scrape;
+
+/**
+ * The host refused a request with 429 Too Many Requests or 403 Forbidden,
+ * which for job boards usually means we are being rate limited.
+ */
+final class ThrottledException extends HttpStatusException {
+    private static final long serialVersionUID = 1L;
+
+    ThrottledException(int status) {
+        super("Throttled by host (HTTP " + status + ")", status);
+    }
+}
@@ -1,23 +1,19 @@
 package com.example.scrape;
 
+import com.example.classify.HostClassifier;
+import com.example.classify.HostMatcher;
+import com.example.classify.HostType;
+
 import java.net.URI;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 public final class UrlFilters {
     private UrlFilters() {}
 
-    // applicant tracking systems (ATS) that we accept
-    private static final String[] ATS_HOSTS = {
-            "ashbyhq.com", "boards.greenhouse.io", "greenhouse.io", "lever.co",
-            "myworkdayjobs.com", "workdayjobs.com", "smartrecruiters.com",
-            "breezy.hr", "jobvite.com", "icims.com", "eightfold.ai",
-            "workable.com", "wellfound.com", "angel.co"
-    };
-
-    // Skip redirectors / non-target domains
+    // Skip redirectors / non-target domains (subdomains included)
     private static final String[] SKIP_HOSTS = {
-            "github.com", "simplify.jobs", "app.simplify.jobs", "link.simplify.jobs",
-            "docs.google.com", "bit.ly", "t.co", "lnkd.in", "medium.com"
+            "github.com", "simplify.jobs", "docs.google.com", "bit.ly", "t.co", "lnkd.in", "medium.com"
     };
 
     // Path shapes that look like an actual job posting
@@ -33,34 +29,41 @@ public final class UrlFilters {
     private static final Pattern WORKABLE    = Pattern.compile("^/[^/]+/j/[0-9A-Z]{6,}(/.*)?$");
     private static final Pattern WELLFOUND   = Pattern.compile("^/(l|job)/\\d+.*$");
 
+    // What a host means for us: skipped, or an accepted ATS with the path shape of its postings
+    private record HostRule(boolean skip, HostType type, Pattern posting) {}
+
+    private static final Map<HostType, Pattern> POSTING_PATHS = Map.ofEntries(
+            Map.entry(HostType.GREENHOUSE, GH_POST),
+            Map.entry(HostType.LEVER, LEVER_POST),
+            Map.entry(HostType.ASHBY, ASHBY_POST),
+            Map.entry(HostType.WORKDAY, WD_POST),
+            Map.entry(HostType.SMARTRECRUITERS, SR_POST),
+            Map.entry(HostType.BREEZY, BREEZY_POST),
+            Map.entry(HostType.JOBVITE, JOBVITE),
+            Map.entry(HostType.ICIMS, ICIMS),
+            Map.entry(HostType.EIGHTFOLD, EIGHTFOLD),
+            Map.entry(HostType.WORKABLE, WORKABLE),
+            Map.entry(HostType.WELLFOUND, WELLFOUND));
+
+    // applicant tracking systems (ATS) that we accept, from HostClassifier, plus the skip list
+    private static final HostMatcher<HostRule> HOSTS = compile();
+
     public static boolean isDirectApplicationLink(URI uri) {
         if (uri == null || uri.getScheme() == null || !uri.getScheme().startsWith("http")) return false;
-        String host = lower(uri.getHost());
-        if (host == null) return false;
-
-        for (String s : SKIP_HOSTS) if (host.contains(s)) return false;
 
-        boolean ats = false;
-        for (String a : ATS_HOSTS) if (host.contains(a)) { ats = true; break; }
-        if (!ats) return false;
+        // one lookup decides skip vs. ATS and picks the path regex
+        HostRule rule = HOSTS.match(uri.getHost());
+        if (rule == null || rule.skip()) return false;
 
         String path = uri.getPath() == null ? "" : uri.getPath();
-        if (host.contains("greenhouse.io"))                 return GH_POST.matcher(path).find();
-        if (host.contains("lever.co"))                      return LEVER_POST.matcher(path).find();
-        if (host.contains("ashbyhq.com"))                   return ASHBY_POST.matcher(path).find();
-        if (host.contains("workdayjobs.com") || host.contains("myworkdayjobs.com"))
-            return WD_POST.matcher(path).find();
-        if (host.contains("smartrecruiters.com"))           return SR_POST.matcher(path).find();
-        if (host.contains("breezy.hr"))                     return BREEZY_POST.matcher(path).find();
-        if (host.contains("jobvite.com"))                   return JOBVITE.matcher(path).find();
-        if (host.contains("icims.com"))                     return ICIMS.matcher(path).find();
-        if (host.contains("eightfold.ai"))                  return EIGHTFOLD.matcher(path).find();
-        if (host.contains("workable.com"))                  return WORKABLE.matcher(path).find();
-        if (host.contains("wellfound.com") || host.contains("angel.co"))
-            return WELLFOUND.matcher(path).find();
-
-        return false;
+        return rule.posting().matcher(path).find();
     }
 
-    private static String lower(String s) { return s == null ? null : s.toLowerCase(); }
+    private static HostMatcher<HostRule> compile() {
+        HostMatcher.Builder<HostRule> builder = HostMatcher.builder();
+        HostClassifier.DOMAINS.forEach((domain, type) ->
+                builder.add(domain, new HostRule(false, type, POSTING_PATHS.get(type))));
+        for (String s : SKIP_HOSTS) builder.add(s, new HostRule(true, null, null));
+        return builder.build();
+    }
 }
@@ -0,0 +1,13 @@
+-- Retry bookkeeping for failed scrapes (PostgreSQL version).
+-- Status values: 'new' (discovered, not scraped), 'retry' (transient failure, due at next_attempt_at),
+-- 'scraped' (successfully scraped), 'error' (permanent failure or out of attempts)
+ALTER TABLE job_links ADD COLUMN IF NOT EXISTS attempt_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE job_links ADD COLUMN IF NOT EXISTS next_attempt_at BIGINT;  -- epoch millis
+ALTER TABLE job_links ADD COLUMN IF NOT EXISTS error_class TEXT;        -- 'timeout', '4xx', '5xx', 'throttled', 'parse-failure', 'llm-failure', 'other'
+
+CREATE INDEX IF NOT EXISTS idx_job_links_retry ON job_links(status, next_attempt_at);
+
+-- Earlier failures were never classified; give each one more attempt
+UPDATE job_links
+SET status = 'retry', attempt_count = 1, next_attempt_at = 0, error_class = 'other'
+WHERE status = 'error';
@@ -0,0 +1,14 @@
+-- Fingerprints of collected README sources, so re-collection only processes what changed (PostgreSQL version).
+CREATE TABLE IF NOT EXISTS collect_sources (
+    source_url    TEXT PRIMARY KEY,
+    content_hash  TEXT NOT NULL,     -- SHA-256 over the row hashes, in table order
+    row_count     INTEGER NOT NULL,
+    collected_at  BIGINT NOT NULL    -- epoch millis
+);
+
+-- One row per table row seen in a source at its last collection
+CREATE TABLE IF NOT EXISTS collect_source_rows (
+    source_url  TEXT NOT NULL,
+    row_hash    TEXT NOT NULL,       -- SHA-256 of company, role, location and apply URL
+    PRIMARY KEY (source_url, row_hash)
+);
@@ -0,0 +1,3 @@
+-- job_info.scraped_at is a TIMESTAMP on PostgreSQL, so there is nothing to convert (PostgreSQL version).
+-- Kept so both migration sets share one version number.
+SELECT 1;
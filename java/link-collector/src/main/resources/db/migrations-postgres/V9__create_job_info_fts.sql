@@ -0,0 +1,11 @@
+-- Full-text index over job_info for /api/jobs/search (PostgreSQL version).
+-- Generated tsvector column, weighted title > company > location > description.
+ALTER TABLE job_info ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(company, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(location, '')), 'C') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'D')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_job_info_search_vector ON job_info USING GIN (search_vector);
@@ -0,0 +1,6 @@
+-- Leases for claiming job_links, so several scraper processes can share one database.
+-- A claimed link belongs to lease_owner until lease_expires_at; after that any node may reclaim it.
+ALTER TABLE job_links ADD COLUMN lease_owner TEXT;
+ALTER TABLE job_links ADD COLUMN lease_expires_at INTEGER;  -- epoch millis
+
+CREATE INDEX IF NOT EXISTS idx_job_links_lease_owner ON job_links(lease_owner);
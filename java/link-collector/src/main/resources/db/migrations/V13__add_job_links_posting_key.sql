@@ -0,0 +1,6 @@
+-- Stable identity of the posting a link points to (e.g. greenhouse:<board>:<job id>),
+-- so URL variants of one posting can be recognized before they are saved again.
+-- Filled by the collector for new rows and backfilled for older ones.
+ALTER TABLE job_links ADD COLUMN posting_key TEXT;
+
+CREATE INDEX IF NOT EXISTS idx_job_links_posting_key ON job_links(posting_key);
@@ -0,0 +1,7 @@
+-- job_info.scraped_at was written as ISO-8601 text by the batch path and as epoch
+-- millis by upsert(). Mixed, the two don't sort chronologically, which breaks
+-- ORDER BY scraped_at and keyset pagination. Convert the text rows to epoch millis,
+-- the one format every write path now uses.
+UPDATE job_info
+SET scraped_at = CAST(CAST(ROUND((julianday(scraped_at) - 2440587.5) * 86400000) AS INTEGER) AS TEXT)
+WHERE scraped_at GLOB '[0-9][0-9][0-9][0-9]-*' AND julianday(scraped_at) IS NOT NULL;
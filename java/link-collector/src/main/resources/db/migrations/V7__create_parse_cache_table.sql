@@ -0,0 +1,13 @@
+-- Cache of OpenAI parse results, keyed by a hash of the normalized page text,
+-- prompt version and model. Re-scrapes and reposts reuse the stored response.
+CREATE TABLE IF NOT EXISTS parse_cache (
+    cache_key       TEXT PRIMARY KEY,  -- SHA-256 hex of model + prompt version + normalized text
+    model           TEXT NOT NULL,
+    prompt_version  TEXT NOT NULL,
+    response_json   TEXT NOT NULL,
+    created_at      INTEGER NOT NULL,  -- epoch millis
+    last_used_at    INTEGER NOT NULL,  -- epoch millis, drives LRU eviction
+    hit_count       INTEGER NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_parse_cache_last_used ON parse_cache(last_used_at);
@@ -0,0 +1,10 @@
+-- Indexes backing the keyset-paginated job listing:
+-- ORDER BY scraped_at DESC, id DESC with optional equality filters.
+CREATE INDEX IF NOT EXISTS idx_job_info_scraped_at_id ON job_info(scraped_at, id);
+CREATE INDEX IF NOT EXISTS idx_job_info_remote_type_scraped ON job_info(remote_type, scraped_at, id);
+CREATE INDEX IF NOT EXISTS idx_job_info_job_type_scraped ON job_info(job_type, scraped_at, id);
+CREATE INDEX IF NOT EXISTS idx_job_info_company_lower_scraped ON job_info(lower(company), scraped_at, id);
+
+-- Superseded by the composite indexes above
+DROP INDEX IF EXISTS idx_job_info_remote_type;
+DROP INDEX IF EXISTS idx_job_info_job_type;
@@ -0,0 +1,42 @@
+-- Full-text index over job_info for /api/jobs/search.
+-- External-content FTS5 table: only the index is stored, text is read from job_info.
+CREATE VIRTUAL TABLE IF NOT EXISTS job_info_fts USING fts5(
+    title,
+    company,
+    location,
+    description,
+    content = 'job_info',
+    content_rowid = 'id',
+    tokenize = 'unicode61 remove_diacritics 2',
+    prefix = '2 3'
+);
+
+-- Keep the index in sync with job_info
+CREATE TRIGGER IF NOT EXISTS job_info_fts_after_insert AFTER INSERT ON job_info BEGIN
+    INSERT INTO job_info_fts (rowid, title, company, location, description)
+    VALUES (new.id, new.title, new.company, new.location, new.description);
+END;
+
+CREATE TRIGGER IF NOT EXISTS job_info_fts_after_delete AFTER DELETE ON job_info BEGIN
+    INSERT INTO job_info_fts (job_info_fts, rowid, title, company, location, description)
+    VALUES ('delete', old.id, old.title, old.company, old.location, old.description);
+END;
+
+CREATE TRIGGER IF NOT EXISTS job_info_fts_after_update AFTER UPDATE ON job_info BEGIN
+    INSERT INTO job_info_fts (job_info_fts, rowid, title, company, location, description)
+    VALUES ('delete', old.id, old.title, old.company, old.location, old.description);
+    INSERT INTO job_info_fts (rowid, title, company, location, description)
+    VALUES (new.id, new.title, new.company, new.location, new.description);
+END;
+
+-- INSERT OR REPLACE (upsert) deletes the old row without firing delete triggers
+-- unless recursive_triggers is on, so drop its index entry before the insert.
+CREATE TRIGGER IF NOT EXISTS job_info_fts_before_insert BEFORE INSERT ON job_info BEGIN
+    INSERT INTO job_info_fts (job_info_fts, rowid, title, company, location, description)
+    SELECT 'delete', id, title, company, location, description
+    FROM job_info
+    WHERE job_link_id = new.job_link_id;
+END;
+
+-- Index existing rows
+INSERT INTO job_info_fts (job_info_fts) VALUES ('rebuild');